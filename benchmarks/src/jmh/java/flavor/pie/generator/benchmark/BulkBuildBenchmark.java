@@ -0,0 +1,52 @@
+package flavor.pie.generator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.data.DataContainer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//reading many containers, with a new manipulator per container against one reused instance
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkBuildBenchmark {
+    @Param({"1000"})
+    public int records;
+    private List<DataContainer> containers;
+    private final PrimitiveData.Builder builder = new PrimitiveData.Builder();
+    private final PrimitiveData target = new PrimitiveData();
+
+    @Setup
+    public void setup() {
+        containers = IntStream.range(0, records).mapToObj(i -> Specs.primitive().toContainer()).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void build(Blackhole blackhole) {
+        for (DataContainer container : containers) {
+            blackhole.consume(builder.build(container));
+        }
+    }
+
+    @Benchmark
+    public int buildEach(Blackhole blackhole) {
+        return builder.buildEach(containers, target, blackhole::consume);
+    }
+}
@@ -0,0 +1,19 @@
+package flavor.pie.generator.benchmark;
+
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+
+import java.util.Optional;
+
+class Holder implements DataHolder {
+    private final DataManipulator<?, ?> data;
+
+    Holder(DataManipulator<?, ?> data) {
+        this.data = data;
+    }
+
+    @Override
+    public <T extends DataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
+        return containerClass.isInstance(data) ? Optional.of(containerClass.cast(data)) : Optional.empty();
+    }
+}
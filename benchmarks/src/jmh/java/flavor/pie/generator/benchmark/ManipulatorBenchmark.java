@@ -0,0 +1,98 @@
+package flavor.pie.generator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.api.data.merge.MergeFunction;
+import org.spongepowered.api.data.value.BaseValue;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManipulatorBenchmark {
+    @Param({"primitive", "collection", "optional", "wide"})
+    public String spec;
+    private DataManipulator<?, ?> data;
+    private ImmutableDataManipulator<?, ?> immutable;
+    private DataContainer container;
+    private DataHolder holder;
+    private Key<BaseValue<Object>> key;
+
+    @Setup
+    public void setup() {
+        data = Specs.create(spec);
+        immutable = data.asImmutable();
+        container = data.toContainer();
+        holder = new Holder(Specs.create(spec));
+        key = Specs.key(spec);
+    }
+
+    @Benchmark
+    public Optional<?> from() {
+        return data.from(container);
+    }
+
+    @Benchmark
+    public DataContainer toContainer() {
+        return data.toContainer();
+    }
+
+    @Benchmark
+    public DataManipulator<?, ?> copy() {
+        return data.copy();
+    }
+
+    @Benchmark
+    public ImmutableDataManipulator<?, ?> asImmutable() {
+        return data.asImmutable();
+    }
+
+    @Benchmark
+    public Optional<?> fillIgnoreAll() {
+        return data.fill(holder, MergeFunction.IGNORE_ALL);
+    }
+
+    @Benchmark
+    public Optional<?> fillForceNothing() {
+        return data.fill(holder, MergeFunction.FORCE_NOTHING);
+    }
+
+    @Benchmark
+    public Optional<Object> get() {
+        return data.get(key);
+    }
+
+    @Benchmark
+    public Optional<BaseValue<Object>> getValue() {
+        return data.getValue(key);
+    }
+
+    @Benchmark
+    public Optional<Object> immutableGet() {
+        return immutable.get(key);
+    }
+
+    @Benchmark
+    public Optional<BaseValue<Object>> immutableGetValue() {
+        return immutable.getValue(key);
+    }
+}
@@ -0,0 +1,68 @@
+package flavor.pie.generator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//the generic key lookups against the primitive-accessors fast paths of the same manipulator
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveAccessBenchmark {
+    private PrimitiveData data;
+    private PrimitiveData.Immutable immutable;
+    private int count;
+
+    @Setup
+    public void setup() {
+        data = Specs.primitive();
+        immutable = data.asImmutable();
+    }
+
+    @Benchmark
+    public int get() {
+        return data.get(PrimitiveKeys.COUNT).get();
+    }
+
+    @Benchmark
+    public int getInt() {
+        return data.getInt(PrimitiveKeys.COUNT);
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return data.getDouble(PrimitiveKeys.WEIGHT);
+    }
+
+    @Benchmark
+    public PrimitiveData set() {
+        return data.set(PrimitiveKeys.COUNT, count++ & 1023);
+    }
+
+    @Benchmark
+    public PrimitiveData setInt() {
+        return data.setInt(PrimitiveKeys.COUNT, count++ & 1023);
+    }
+
+    @Benchmark
+    public int immutableGet() {
+        return immutable.get(PrimitiveKeys.COUNT).get();
+    }
+
+    @Benchmark
+    public int immutableGetInt() {
+        return immutable.getInt(PrimitiveKeys.COUNT);
+    }
+}
@@ -0,0 +1,101 @@
+package flavor.pie.generator.benchmark;
+
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.item.ItemTypes;
+import org.spongepowered.api.text.Text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//populated instances of the generated manipulators, so the benchmarks do not only see defaults
+final class Specs {
+    private Specs() {}
+
+    static DataManipulator<?, ?> create(String spec) {
+        switch (spec) {
+            case "primitive": return primitive();
+            case "collection": return collection();
+            case "optional": return optional();
+            case "wide": return wide();
+            default: throw new IllegalArgumentException(spec);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Key<BaseValue<Object>> key(String spec) {
+        switch (spec) {
+            case "primitive": return (Key<BaseValue<Object>>) (Key<?>) PrimitiveKeys.COUNT;
+            case "collection": return (Key<BaseValue<Object>>) (Key<?>) CollectionKeys.SLOTS;
+            case "optional": return (Key<BaseValue<Object>>) (Key<?>) OptionalKeys.OWNER;
+            case "wide": return (Key<BaseValue<Object>>) (Key<?>) WideKeys.FIELD0;
+            default: throw new IllegalArgumentException(spec);
+        }
+    }
+
+    static PrimitiveData primitive() {
+        PrimitiveData data = new PrimitiveData();
+        data.setCount(42);
+        data.setEnabled(true);
+        data.setWeight(2.5);
+        data.setSpeed(0.1f);
+        data.setCreated(1483228800000L);
+        data.setLevel((short) 7);
+        data.setFlags((byte) 3);
+        data.setSymbol('x');
+        return data;
+    }
+
+    static CollectionData collection() {
+        CollectionData data = new CollectionData();
+        data.setSlots(IntStream.range(0, 64).boxed().collect(Collectors.toList()));
+        List<String> lines = IntStream.range(0, 8).mapToObj(i -> "line " + i).collect(Collectors.toList());
+        data.setLines(lines);
+        data.setTags(new HashSet<>(Arrays.asList("alpha", "beta", "gamma", "delta")));
+        Map<String, Integer> counters = new HashMap<>();
+        for (int i = 0; i < 16; i++) {
+            counters.put("counter" + i, i * 10);
+        }
+        data.setCounters(counters);
+        return data;
+    }
+
+    static OptionalData optional() {
+        OptionalData data = new OptionalData();
+        data.setOwner(new UUID(1, 2));
+        data.setNickname("pie");
+        data.setTitle(Text.of("Title"));
+        //left empty, so both branches are covered
+        data.setDisplay(null);
+        return data;
+    }
+
+    static WideData wide() {
+        WideData data = new WideData();
+        for (Key<?> key : data.getKeys()) {
+            Object value = data.get(Specs.<Object>unchecked(key)).get();
+            if (value instanceof Integer) {
+                data.set(Specs.unchecked(key), key.getId().length());
+            } else if (value instanceof Double) {
+                data.set(Specs.unchecked(key), key.getId().length() / 3.0);
+            } else if (value instanceof String) {
+                data.set(Specs.unchecked(key), key.getName());
+            } else if (value instanceof Boolean) {
+                data.set(Specs.unchecked(key), true);
+            }
+        }
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Key<BaseValue<E>> unchecked(Key<?> key) {
+        return (Key<BaseValue<E>>) key;
+    }
+}
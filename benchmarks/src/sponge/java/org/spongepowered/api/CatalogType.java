@@ -0,0 +1,7 @@
+package org.spongepowered.api;
+
+public interface CatalogType {
+    String getId();
+
+    String getName();
+}
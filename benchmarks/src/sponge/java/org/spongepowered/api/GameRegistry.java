@@ -0,0 +1,25 @@
+package org.spongepowered.api;
+
+import org.spongepowered.api.data.value.ValueFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GameRegistry {
+    private final ValueFactory valueFactory = new ValueFactory();
+    private final Map<String, CatalogType> types = new ConcurrentHashMap<>();
+
+    public ValueFactory getValueFactory() {
+        return valueFactory;
+    }
+
+    public void register(CatalogType type) {
+        types.put(type.getId(), type);
+    }
+
+    public <T extends CatalogType> Optional<T> getType(Class<T> typeClass, String id) {
+        CatalogType type = types.get(id);
+        return typeClass.isInstance(type) ? Optional.of(typeClass.cast(type)) : Optional.empty();
+    }
+}
@@ -0,0 +1,24 @@
+package org.spongepowered.api;
+
+import org.spongepowered.api.data.DataManager;
+import org.spongepowered.api.service.ServiceManager;
+
+public final class Sponge {
+    private static final GameRegistry registry = new GameRegistry();
+    private static final DataManager dataManager = new DataManager();
+    private static final ServiceManager serviceManager = new ServiceManager();
+
+    private Sponge() {}
+
+    public static GameRegistry getRegistry() {
+        return registry;
+    }
+
+    public static DataManager getDataManager() {
+        return dataManager;
+    }
+
+    public static ServiceManager getServiceManager() {
+        return serviceManager;
+    }
+}
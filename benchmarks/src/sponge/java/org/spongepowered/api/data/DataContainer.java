@@ -0,0 +1,9 @@
+package org.spongepowered.api.data;
+
+public interface DataContainer extends DataView {
+    @Override
+    DataContainer set(DataQuery path, Object value);
+
+    @Override
+    DataContainer remove(DataQuery path);
+}
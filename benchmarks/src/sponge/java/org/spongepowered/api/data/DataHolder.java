@@ -0,0 +1,9 @@
+package org.spongepowered.api.data;
+
+import org.spongepowered.api.data.manipulator.DataManipulator;
+
+import java.util.Optional;
+
+public interface DataHolder {
+    <T extends DataManipulator<?, ?>> Optional<T> get(Class<T> containerClass);
+}
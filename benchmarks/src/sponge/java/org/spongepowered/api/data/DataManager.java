@@ -0,0 +1,71 @@
+package org.spongepowered.api.data;
+
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.manipulator.DataManipulatorBuilder;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.api.data.persistence.DataBuilder;
+import org.spongepowered.api.data.persistence.DataContentUpdater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DataManager {
+    private final Map<Class<?>, DataBuilder<?>> builders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<DataContentUpdater>> updaters = new ConcurrentHashMap<>();
+
+    public <T extends DataManipulator<T, I>, I extends ImmutableDataManipulator<I, T>> void register(Class<? extends T> manipulatorClass,
+            Class<? extends I> immutableManipulatorClass, DataManipulatorBuilder<T, I> builder) {
+        builders.put(manipulatorClass, builder);
+    }
+
+    public <T extends DataSerializable> void registerBuilder(Class<T> clazz, DataBuilder<T> builder) {
+        builders.put(clazz, builder);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends DataSerializable> Optional<DataBuilder<T>> getBuilder(Class<T> clazz) {
+        return Optional.ofNullable((DataBuilder<T>) builders.get(clazz));
+    }
+
+    public <T extends DataSerializable> void registerContentUpdater(Class<T> clazz, DataContentUpdater updater) {
+        updaters.computeIfAbsent(clazz, c -> new ArrayList<>()).add(updater);
+    }
+
+    public <T extends DataSerializable> Optional<DataContentUpdater> getWrappedContentUpdater(Class<T> clazz, int fromVersion, int toVersion) {
+        List<DataContentUpdater> chain = new ArrayList<>();
+        int version = fromVersion;
+        while (version < toVersion) {
+            int current = version;
+            Optional<DataContentUpdater> next = updaters.getOrDefault(clazz, new ArrayList<>()).stream()
+                    .filter(u -> u.getInputVersion() == current).findFirst();
+            if (!next.isPresent()) {
+                return Optional.empty();
+            }
+            chain.add(next.get());
+            version = next.get().getOutputVersion();
+        }
+        int output = version;
+        return Optional.of(new DataContentUpdater() {
+            @Override
+            public int getInputVersion() {
+                return fromVersion;
+            }
+
+            @Override
+            public int getOutputVersion() {
+                return output;
+            }
+
+            @Override
+            public DataView update(DataView content) {
+                for (DataContentUpdater updater : chain) {
+                    content = updater.update(content);
+                }
+                return content;
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package org.spongepowered.api.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class DataQuery {
+    private static final DataQuery EMPTY = new DataQuery(Collections.emptyList());
+    private final List<String> parts;
+
+    private DataQuery(List<String> parts) {
+        this.parts = parts;
+    }
+
+    public static DataQuery of() {
+        return EMPTY;
+    }
+
+    public static DataQuery of(String... parts) {
+        return new DataQuery(Collections.unmodifiableList(Arrays.asList(parts.clone())));
+    }
+
+    public static DataQuery of(char separator, String path) {
+        return of(path.split(java.util.regex.Pattern.quote(String.valueOf(separator))));
+    }
+
+    public static DataQuery of(List<String> parts) {
+        return new DataQuery(Collections.unmodifiableList(new ArrayList<>(parts)));
+    }
+
+    public List<String> getParts() {
+        return parts;
+    }
+
+    public DataQuery then(String part) {
+        List<String> parts = new ArrayList<>(this.parts);
+        parts.add(part);
+        return new DataQuery(Collections.unmodifiableList(parts));
+    }
+
+    public String asString(char separator) {
+        return String.join(String.valueOf(separator), parts);
+    }
+
+    public String asString(String separator) {
+        return String.join(separator, parts);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DataQuery && ((DataQuery) o).parts.equals(parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return parts.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return asString('.');
+    }
+}
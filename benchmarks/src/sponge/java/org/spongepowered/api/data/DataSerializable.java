@@ -0,0 +1,7 @@
+package org.spongepowered.api.data;
+
+public interface DataSerializable {
+    int getContentVersion();
+
+    DataContainer toContainer();
+}
@@ -0,0 +1,74 @@
+package org.spongepowered.api.data;
+
+import org.spongepowered.api.CatalogType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface DataView {
+    DataContainer getContainer();
+
+    Set<DataQuery> getKeys(boolean deep);
+
+    Map<DataQuery, Object> getValues(boolean deep);
+
+    boolean contains(DataQuery path);
+
+    Optional<Object> get(DataQuery path);
+
+    DataView set(DataQuery path, Object value);
+
+    DataView remove(DataQuery path);
+
+    DataView createView(DataQuery path);
+
+    Optional<DataView> getView(DataQuery path);
+
+    Optional<? extends Map<?, ?>> getMap(DataQuery path);
+
+    Optional<Boolean> getBoolean(DataQuery path);
+
+    Optional<Short> getShort(DataQuery path);
+
+    Optional<Byte> getByte(DataQuery path);
+
+    Optional<Integer> getInt(DataQuery path);
+
+    Optional<Long> getLong(DataQuery path);
+
+    Optional<Float> getFloat(DataQuery path);
+
+    Optional<Double> getDouble(DataQuery path);
+
+    Optional<String> getString(DataQuery path);
+
+    Optional<List<?>> getList(DataQuery path);
+
+    Optional<List<String>> getStringList(DataQuery path);
+
+    Optional<List<Character>> getCharacterList(DataQuery path);
+
+    Optional<List<Boolean>> getBooleanList(DataQuery path);
+
+    Optional<List<Byte>> getByteList(DataQuery path);
+
+    Optional<List<Short>> getShortList(DataQuery path);
+
+    Optional<List<Integer>> getIntegerList(DataQuery path);
+
+    Optional<List<Long>> getLongList(DataQuery path);
+
+    Optional<List<Float>> getFloatList(DataQuery path);
+
+    Optional<List<Double>> getDoubleList(DataQuery path);
+
+    <T extends CatalogType> Optional<T> getCatalogType(DataQuery path, Class<T> catalogType);
+
+    <T> Optional<T> getObject(DataQuery path, Class<T> objectClass);
+
+    <T> Optional<List<T>> getObjectList(DataQuery path, Class<T> objectClass);
+
+    DataContainer copy();
+}
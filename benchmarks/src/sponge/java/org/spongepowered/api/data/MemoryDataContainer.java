@@ -0,0 +1,19 @@
+package org.spongepowered.api.data;
+
+public class MemoryDataContainer extends MemoryDataView implements DataContainer {
+    public MemoryDataContainer() {
+        super(null, DataQuery.of());
+    }
+
+    @Override
+    public DataContainer set(DataQuery path, Object value) {
+        super.set(path, value);
+        return this;
+    }
+
+    @Override
+    public DataContainer remove(DataQuery path) {
+        super.remove(path);
+        return this;
+    }
+}
@@ -0,0 +1,301 @@
+package org.spongepowered.api.data;
+
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.serializer.TextSerializers;
+import org.spongepowered.api.util.Coerce;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+//a map backed view, close enough to the implementation's storage for benchmarks
+public class MemoryDataView implements DataView {
+    protected final Map<String, Object> map = new LinkedHashMap<>();
+    private final DataContainer container;
+    private final DataQuery path;
+
+    MemoryDataView(DataContainer container, DataQuery path) {
+        this.container = container == null ? (DataContainer) this : container;
+        this.path = path;
+    }
+
+    @Override
+    public DataContainer getContainer() {
+        return container;
+    }
+
+    @Override
+    public Set<DataQuery> getKeys(boolean deep) {
+        return getValues(deep).keySet();
+    }
+
+    @Override
+    public Map<DataQuery, Object> getValues(boolean deep) {
+        Map<DataQuery, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            DataQuery key = DataQuery.of(entry.getKey());
+            values.put(key, entry.getValue());
+            if (deep && entry.getValue() instanceof DataView) {
+                for (Map.Entry<DataQuery, Object> inner : ((DataView) entry.getValue()).getValues(true).entrySet()) {
+                    List<String> parts = new ArrayList<>(key.getParts());
+                    parts.addAll(inner.getKey().getParts());
+                    values.put(DataQuery.of(parts), inner.getValue());
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public boolean contains(DataQuery path) {
+        return get(path).isPresent();
+    }
+
+    @Override
+    public Optional<Object> get(DataQuery path) {
+        List<String> parts = path.getParts();
+        if (parts.isEmpty()) {
+            return Optional.of(this);
+        }
+        Object value = map.get(parts.get(0));
+        if (parts.size() == 1) {
+            return Optional.ofNullable(value);
+        }
+        if (value instanceof DataView) {
+            return ((DataView) value).get(DataQuery.of(parts.subList(1, parts.size())));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public DataView set(DataQuery path, Object value) {
+        List<String> parts = path.getParts();
+        if (parts.size() > 1) {
+            DataView view = getView(DataQuery.of(parts.get(0))).orElseGet(() -> createView(DataQuery.of(parts.get(0))));
+            view.set(DataQuery.of(parts.subList(1, parts.size())), value);
+            return this;
+        }
+        String key = parts.get(0);
+        if (value == null) {
+            map.remove(key);
+        } else if (value instanceof DataSerializable) {
+            DataView view = createView(DataQuery.of(key));
+            ((DataSerializable) value).toContainer().getValues(false).forEach(view::set);
+        } else if (value instanceof Map) {
+            DataView view = createView(DataQuery.of(key));
+            ((Map<?, ?>) value).forEach((k, v) -> view.set(DataQuery.of(k.toString()), v));
+        } else if (value instanceof CatalogType) {
+            map.put(key, ((CatalogType) value).getId());
+        } else if (value instanceof Text) {
+            map.put(key, TextSerializers.JSON.serialize((Text) value));
+        } else if (value instanceof UUID || value instanceof Enum) {
+            map.put(key, value.toString());
+        } else if (value instanceof Collection) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                list.add(element instanceof CatalogType ? ((CatalogType) element).getId() : element);
+            }
+            map.put(key, list);
+        } else {
+            map.put(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public DataView remove(DataQuery path) {
+        List<String> parts = path.getParts();
+        if (parts.size() == 1) {
+            map.remove(parts.get(0));
+        } else {
+            getView(DataQuery.of(parts.get(0))).ifPresent(v -> v.remove(DataQuery.of(parts.subList(1, parts.size()))));
+        }
+        return this;
+    }
+
+    @Override
+    public DataView createView(DataQuery path) {
+        List<String> parts = path.getParts();
+        if (parts.size() > 1) {
+            DataView view = getView(DataQuery.of(parts.get(0))).orElseGet(() -> createView(DataQuery.of(parts.get(0))));
+            return view.createView(DataQuery.of(parts.subList(1, parts.size())));
+        }
+        MemoryDataView view = new MemoryDataView(container, this.path.then(parts.get(0)));
+        map.put(parts.get(0), view);
+        return view;
+    }
+
+    @Override
+    public Optional<DataView> getView(DataQuery path) {
+        return get(path).filter(DataView.class::isInstance).map(DataView.class::cast);
+    }
+
+    @Override
+    public Optional<? extends Map<?, ?>> getMap(DataQuery path) {
+        Optional<Object> value = get(path);
+        if (value.isPresent() && value.get() instanceof DataView) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            ((DataView) value.get()).getValues(false).forEach((k, v) -> map.put(k.asString('.'), v));
+            return Optional.of(map);
+        }
+        return value.filter(Map.class::isInstance).map(m -> (Map<?, ?>) m);
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(DataQuery path) {
+        return get(path).map(Coerce::toBoolean);
+    }
+
+    @Override
+    public Optional<Short> getShort(DataQuery path) {
+        return get(path).map(Coerce::toShort);
+    }
+
+    @Override
+    public Optional<Byte> getByte(DataQuery path) {
+        return get(path).map(Coerce::toByte);
+    }
+
+    @Override
+    public Optional<Integer> getInt(DataQuery path) {
+        return get(path).map(Coerce::toInteger);
+    }
+
+    @Override
+    public Optional<Long> getLong(DataQuery path) {
+        return get(path).map(Coerce::toLong);
+    }
+
+    @Override
+    public Optional<Float> getFloat(DataQuery path) {
+        return get(path).map(Coerce::toFloat);
+    }
+
+    @Override
+    public Optional<Double> getDouble(DataQuery path) {
+        return get(path).map(Coerce::toDouble);
+    }
+
+    @Override
+    public Optional<String> getString(DataQuery path) {
+        return get(path).map(Object::toString);
+    }
+
+    @Override
+    public Optional<List<?>> getList(DataQuery path) {
+        return get(path).filter(List.class::isInstance).map(l -> (List<?>) l);
+    }
+
+    private <T> Optional<List<T>> getList(DataQuery path, Function<Object, T> coerce) {
+        return getList(path).map(l -> {
+            List<T> list = new ArrayList<>(l.size());
+            for (Object element : l) {
+                list.add(coerce.apply(element));
+            }
+            return list;
+        });
+    }
+
+    @Override
+    public Optional<List<String>> getStringList(DataQuery path) {
+        return getList(path, Object::toString);
+    }
+
+    @Override
+    public Optional<List<Character>> getCharacterList(DataQuery path) {
+        return getList(path, Coerce::toChar);
+    }
+
+    @Override
+    public Optional<List<Boolean>> getBooleanList(DataQuery path) {
+        return getList(path, Coerce::toBoolean);
+    }
+
+    @Override
+    public Optional<List<Byte>> getByteList(DataQuery path) {
+        return getList(path, Coerce::toByte);
+    }
+
+    @Override
+    public Optional<List<Short>> getShortList(DataQuery path) {
+        return getList(path, Coerce::toShort);
+    }
+
+    @Override
+    public Optional<List<Integer>> getIntegerList(DataQuery path) {
+        return getList(path, Coerce::toInteger);
+    }
+
+    @Override
+    public Optional<List<Long>> getLongList(DataQuery path) {
+        return getList(path, Coerce::toLong);
+    }
+
+    @Override
+    public Optional<List<Float>> getFloatList(DataQuery path) {
+        return getList(path, Coerce::toFloat);
+    }
+
+    @Override
+    public Optional<List<Double>> getDoubleList(DataQuery path) {
+        return getList(path, Coerce::toDouble);
+    }
+
+    @Override
+    public <T extends CatalogType> Optional<T> getCatalogType(DataQuery path, Class<T> catalogType) {
+        return get(path).flatMap(id -> Sponge.getRegistry().getType(catalogType, id.toString()));
+    }
+
+    @Override
+    public <T> Optional<T> getObject(DataQuery path, Class<T> objectClass) {
+        return get(path).flatMap(v -> convert(v, objectClass));
+    }
+
+    @Override
+    public <T> Optional<List<T>> getObjectList(DataQuery path, Class<T> objectClass) {
+        return getList(path).map(l -> {
+            List<T> list = new ArrayList<>(l.size());
+            for (Object element : l) {
+                convert(element, objectClass).ifPresent(list::add);
+            }
+            return list;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Optional<T> convert(Object value, Class<T> objectClass) {
+        if (objectClass.isInstance(value)) {
+            return Optional.of((T) value);
+        }
+        if (CatalogType.class.isAssignableFrom(objectClass)) {
+            return (Optional<T>) Sponge.getRegistry().getType(objectClass.asSubclass(CatalogType.class), value.toString());
+        }
+        if (objectClass == UUID.class) {
+            return Optional.of((T) UUID.fromString(value.toString()));
+        }
+        if (objectClass == Text.class) {
+            return Optional.of((T) TextSerializers.JSON.deserialize(value.toString()));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public DataContainer copy() {
+        MemoryDataContainer copy = new MemoryDataContainer();
+        getValues(false).forEach((k, v) -> copy.set(k, v instanceof DataView ? ((DataView) v).copy() : v));
+        return copy;
+    }
+
+    Set<String> rawKeys() {
+        return new LinkedHashSet<>(map.keySet());
+    }
+}
@@ -0,0 +1,7 @@
+package org.spongepowered.api.data;
+
+public final class Queries {
+    public static final DataQuery CONTENT_VERSION = DataQuery.of("ContentVersion");
+
+    private Queries() {}
+}
@@ -0,0 +1,89 @@
+package org.spongepowered.api.data.key;
+
+import com.google.common.reflect.TypeToken;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.mutable.ListValue;
+import org.spongepowered.api.data.value.mutable.MapValue;
+import org.spongepowered.api.data.value.mutable.OptionalValue;
+import org.spongepowered.api.data.value.mutable.SetValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public final class KeyFactory {
+    private KeyFactory() {}
+
+    public static <E, V extends BaseValue<E>> Key<V> makeSingleKey(TypeToken<E> elementToken, TypeToken<V> valueToken,
+            DataQuery query, String id, String name) {
+        return new SimpleKey<>(elementToken, valueToken, query, id, name);
+    }
+
+    public static <E> Key<ListValue<E>> makeListKey(TypeToken<? extends List<E>> elementToken, TypeToken<ListValue<E>> valueToken,
+            DataQuery query, String id, String name) {
+        return new SimpleKey<>(elementToken, valueToken, query, id, name);
+    }
+
+    public static <E> Key<SetValue<E>> makeSetKey(TypeToken<? extends Set<E>> elementToken, TypeToken<SetValue<E>> valueToken,
+            DataQuery query, String id, String name) {
+        return new SimpleKey<>(elementToken, valueToken, query, id, name);
+    }
+
+    public static <K, V> Key<MapValue<K, V>> makeMapKey(TypeToken<? extends Map<K, V>> elementToken,
+            TypeToken<MapValue<K, V>> valueToken, DataQuery query, String id, String name) {
+        return new SimpleKey<>(elementToken, valueToken, query, id, name);
+    }
+
+    public static <E> Key<OptionalValue<E>> makeOptionalKey(TypeToken<Optional<E>> elementToken,
+            TypeToken<OptionalValue<E>> valueToken, DataQuery query, String id, String name) {
+        return new SimpleKey<>(elementToken, valueToken, query, id, name);
+    }
+
+    private static final class SimpleKey<V extends BaseValue<?>> implements Key<V> {
+        private final TypeToken<?> elementToken;
+        private final TypeToken<V> valueToken;
+        private final DataQuery query;
+        private final String id;
+        private final String name;
+
+        SimpleKey(TypeToken<?> elementToken, TypeToken<V> valueToken, DataQuery query, String id, String name) {
+            this.elementToken = elementToken;
+            this.valueToken = valueToken;
+            this.query = query;
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public TypeToken<V> getValueToken() {
+            return valueToken;
+        }
+
+        @Override
+        public TypeToken<?> getElementToken() {
+            return elementToken;
+        }
+
+        @Override
+        public DataQuery getQuery() {
+            return query;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+}
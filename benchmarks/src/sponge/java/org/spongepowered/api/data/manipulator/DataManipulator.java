@@ -0,0 +1,26 @@
+package org.spongepowered.api.data.manipulator;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.merge.MergeFunction;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.ValueContainer;
+
+import java.util.Optional;
+
+public interface DataManipulator<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>>
+        extends ValueContainer<M>, DataSerializable {
+    default Optional<M> fill(DataHolder dataHolder) {
+        return fill(dataHolder, MergeFunction.IGNORE_ALL);
+    }
+
+    Optional<M> fill(DataHolder dataHolder, MergeFunction overlap);
+
+    Optional<M> from(DataContainer container);
+
+    <E> M set(Key<? extends BaseValue<E>> key, E value);
+
+    I asImmutable();
+}
@@ -0,0 +1,12 @@
+package org.spongepowered.api.data.manipulator;
+
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.persistence.DataBuilder;
+
+import java.util.Optional;
+
+public interface DataManipulatorBuilder<T extends DataManipulator<T, I>, I extends ImmutableDataManipulator<I, T>> extends DataBuilder<T> {
+    T create();
+
+    Optional<T> createFrom(DataHolder dataHolder);
+}
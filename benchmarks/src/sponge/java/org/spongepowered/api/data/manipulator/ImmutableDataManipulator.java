@@ -0,0 +1,15 @@
+package org.spongepowered.api.data.manipulator;
+
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.ValueContainer;
+
+import java.util.Optional;
+
+public interface ImmutableDataManipulator<I extends ImmutableDataManipulator<I, M>, M extends DataManipulator<M, I>>
+        extends ValueContainer<I>, DataSerializable {
+    <E> Optional<I> with(Key<? extends BaseValue<E>> key, E value);
+
+    M asMutable();
+}
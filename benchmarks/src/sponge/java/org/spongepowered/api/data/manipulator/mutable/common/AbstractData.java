@@ -0,0 +1,110 @@
+package org.spongepowered.api.data.manipulator.mutable.common;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.api.data.Queries;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.data.value.mutable.Value;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@SuppressWarnings("unchecked")
+public abstract class AbstractData<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataManipulator<M, I> {
+    private final Map<Key<?>, Supplier<Value<?>>> keyValueMap = new HashMap<>();
+    private final Map<Key<?>, Supplier<?>> keyFieldGetterMap = new HashMap<>();
+    private final Map<Key<?>, Consumer<?>> keyFieldSetterMap = new HashMap<>();
+
+    protected abstract void registerGettersAndSetters();
+
+    protected final void registerKeyValue(Key<?> key, Supplier<Value<?>> function) {
+        keyValueMap.put(key, function);
+    }
+
+    protected final void registerFieldGetter(Key<?> key, Supplier<?> function) {
+        keyFieldGetterMap.put(key, function);
+    }
+
+    protected final <E> void registerFieldSetter(Key<? extends BaseValue<E>> key, Consumer<E> function) {
+        keyFieldSetterMap.put(key, function);
+    }
+
+    @Override
+    public <E> M set(Key<? extends BaseValue<E>> key, E value) {
+        Consumer<E> setter = (Consumer<E>) keyFieldSetterMap.get(key);
+        if (setter != null) {
+            setter.accept(value);
+        }
+        return (M) this;
+    }
+
+    @Override
+    public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
+        Supplier<?> getter = keyFieldGetterMap.get(key);
+        return getter == null ? Optional.empty() : Optional.ofNullable((E) getter.get());
+    }
+
+    @Override
+    public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
+        Supplier<Value<?>> getter = keyValueMap.get(key);
+        return getter == null ? Optional.empty() : Optional.of((V) getter.get());
+    }
+
+    @Override
+    public boolean supports(Key<?> key) {
+        return keyFieldGetterMap.containsKey(key);
+    }
+
+    @Override
+    public Set<Key<?>> getKeys() {
+        return new HashSet<>(keyFieldGetterMap.keySet());
+    }
+
+    @Override
+    public Set<ImmutableValue<?>> getValues() {
+        Set<ImmutableValue<?>> values = new HashSet<>();
+        for (Supplier<Value<?>> getter : keyValueMap.values()) {
+            values.add(getter.get().asImmutable());
+        }
+        return values;
+    }
+
+    @Override
+    public DataContainer toContainer() {
+        return new MemoryDataContainer().set(Queries.CONTENT_VERSION, getContentVersion());
+    }
+
+    @Override
+    public int hashCode() {
+        Object[] values = new Object[keyFieldGetterMap.size()];
+        int i = 0;
+        for (Supplier<?> getter : keyFieldGetterMap.values()) {
+            values[i++] = getter.get();
+        }
+        return Objects.hash(values);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AbstractData<?, ?> other = (AbstractData<?, ?>) obj;
+        for (Map.Entry<Key<?>, Supplier<?>> entry : keyFieldGetterMap.entrySet()) {
+            if (!Objects.equals(entry.getValue().get(), other.keyFieldGetterMap.get(entry.getKey()).get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package org.spongepowered.api.data.merge;
+
+import org.spongepowered.api.data.value.ValueContainer;
+
+import javax.annotation.Nullable;
+
+@FunctionalInterface
+public interface MergeFunction {
+    MergeFunction IGNORE_ALL = new MergeFunction() {
+        @Override
+        public <C extends ValueContainer<?>> C merge(@Nullable C original, @Nullable C replacement) {
+            return original;
+        }
+    };
+
+    MergeFunction FORCE_NOTHING = new MergeFunction() {
+        @Override
+        public <C extends ValueContainer<?>> C merge(@Nullable C original, @Nullable C replacement) {
+            return replacement;
+        }
+    };
+
+    <C extends ValueContainer<?>> C merge(@Nullable C original, @Nullable C replacement);
+}
@@ -0,0 +1,35 @@
+package org.spongepowered.api.data.persistence;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.Queries;
+
+import java.util.Optional;
+
+public abstract class AbstractDataBuilder<T extends DataSerializable> implements DataBuilder<T> {
+    private final int supportedVersion;
+    private final Class<T> requiredClass;
+
+    protected AbstractDataBuilder(Class<T> requiredClass, int supportedVersion) {
+        this.requiredClass = requiredClass;
+        this.supportedVersion = supportedVersion;
+    }
+
+    protected abstract Optional<T> buildContent(DataView container) throws InvalidDataException;
+
+    @Override
+    public final Optional<T> build(DataView container) throws InvalidDataException {
+        Optional<Integer> version = container.getInt(Queries.CONTENT_VERSION);
+        if (version.isPresent() && version.get() < supportedVersion) {
+            Optional<DataContentUpdater> updater = Sponge.getDataManager().getWrappedContentUpdater(requiredClass, version.get(), supportedVersion);
+            if (!updater.isPresent()) {
+                throw new InvalidDataException("Could not get an updater for " + requiredClass.getName() + " data from version " + version.get());
+            }
+            DataView updated = updater.get().update(container);
+            updated.set(Queries.CONTENT_VERSION, supportedVersion);
+            return buildContent(updated);
+        }
+        return buildContent(container);
+    }
+}
@@ -0,0 +1,10 @@
+package org.spongepowered.api.data.persistence;
+
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Optional;
+
+public interface DataBuilder<T extends DataSerializable> {
+    Optional<T> build(DataView container) throws InvalidDataException;
+}
@@ -0,0 +1,11 @@
+package org.spongepowered.api.data.persistence;
+
+import org.spongepowered.api.data.DataView;
+
+public interface DataContentUpdater {
+    int getInputVersion();
+
+    int getOutputVersion();
+
+    DataView update(DataView content);
+}
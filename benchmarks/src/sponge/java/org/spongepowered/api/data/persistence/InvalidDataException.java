@@ -0,0 +1,7 @@
+package org.spongepowered.api.data.persistence;
+
+public class InvalidDataException extends RuntimeException {
+    public InvalidDataException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package org.spongepowered.api.data.value;
+
+import org.spongepowered.api.data.key.Key;
+
+import java.util.Optional;
+
+public interface BaseValue<E> {
+    E get();
+
+    boolean exists();
+
+    E getDefault();
+
+    Optional<E> getDirect();
+
+    Key<? extends BaseValue<E>> getKey();
+}
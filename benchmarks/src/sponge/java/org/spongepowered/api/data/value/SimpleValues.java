@@ -0,0 +1,277 @@
+package org.spongepowered.api.data.value;
+
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.immutable.ImmutableListValue;
+import org.spongepowered.api.data.value.immutable.ImmutableMapValue;
+import org.spongepowered.api.data.value.immutable.ImmutableOptionalValue;
+import org.spongepowered.api.data.value.immutable.ImmutableSetValue;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.data.value.mutable.ListValue;
+import org.spongepowered.api.data.value.mutable.MapValue;
+import org.spongepowered.api.data.value.mutable.OptionalValue;
+import org.spongepowered.api.data.value.mutable.SetValue;
+import org.spongepowered.api.data.value.mutable.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+//plain value implementations, the real ones live in the implementation
+final class SimpleValues {
+    private SimpleValues() {}
+
+    static class Base<E> implements BaseValue<E> {
+        final Key<? extends BaseValue<E>> key;
+        E value;
+
+        Base(Key<? extends BaseValue<E>> key, E value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public E get() {
+            return value;
+        }
+
+        @Override
+        public boolean exists() {
+            return value != null;
+        }
+
+        @Override
+        public E getDefault() {
+            return value;
+        }
+
+        @Override
+        public Optional<E> getDirect() {
+            return Optional.ofNullable(value);
+        }
+
+        @Override
+        public Key<? extends BaseValue<E>> getKey() {
+            return key;
+        }
+    }
+
+    static class SimpleValue<E> extends Base<E> implements Value<E> {
+        SimpleValue(Key<? extends BaseValue<E>> key, E value) {
+            super(key, value);
+        }
+
+        @Override
+        public Value<E> set(E value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public ImmutableValue<E> asImmutable() {
+            return new SimpleImmutableValue<>(key, value);
+        }
+    }
+
+    static class SimpleImmutableValue<E> extends Base<E> implements ImmutableValue<E> {
+        SimpleImmutableValue(Key<? extends BaseValue<E>> key, E value) {
+            super(key, value);
+        }
+
+        @Override
+        public ImmutableValue<E> with(E value) {
+            return new SimpleImmutableValue<>(key, value);
+        }
+
+        @Override
+        public Value<E> asMutable() {
+            return new SimpleValue<>(key, value);
+        }
+    }
+
+    static class SimpleListValue<E> extends Base<List<E>> implements ListValue<E> {
+        SimpleListValue(Key<? extends BaseValue<List<E>>> key, List<E> value) {
+            super(key, value);
+        }
+
+        @Override
+        public ListValue<E> set(List<E> value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public E get(int index) {
+            return value.get(index);
+        }
+
+        @Override
+        public int size() {
+            return value.size();
+        }
+
+        @Override
+        public ImmutableListValue<E> asImmutable() {
+            return new SimpleImmutableListValue<>(key, Collections.unmodifiableList(new ArrayList<>(value)));
+        }
+    }
+
+    static class SimpleImmutableListValue<E> extends Base<List<E>> implements ImmutableListValue<E> {
+        SimpleImmutableListValue(Key<? extends BaseValue<List<E>>> key, List<E> value) {
+            super(key, value);
+        }
+
+        @Override
+        public ImmutableValue<List<E>> with(List<E> value) {
+            return new SimpleImmutableListValue<>(key, value);
+        }
+
+        @Override
+        public ListValue<E> asMutable() {
+            return new SimpleListValue<>(key, new ArrayList<>(value));
+        }
+
+        @Override
+        public E get(int index) {
+            return value.get(index);
+        }
+
+        @Override
+        public int size() {
+            return value.size();
+        }
+    }
+
+    static class SimpleSetValue<E> extends Base<Set<E>> implements SetValue<E> {
+        SimpleSetValue(Key<? extends BaseValue<Set<E>>> key, Set<E> value) {
+            super(key, value);
+        }
+
+        @Override
+        public SetValue<E> set(Set<E> value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public boolean contains(E element) {
+            return value.contains(element);
+        }
+
+        @Override
+        public int size() {
+            return value.size();
+        }
+
+        @Override
+        public ImmutableSetValue<E> asImmutable() {
+            return new SimpleImmutableSetValue<>(key, Collections.unmodifiableSet(new HashSet<>(value)));
+        }
+    }
+
+    static class SimpleImmutableSetValue<E> extends Base<Set<E>> implements ImmutableSetValue<E> {
+        SimpleImmutableSetValue(Key<? extends BaseValue<Set<E>>> key, Set<E> value) {
+            super(key, value);
+        }
+
+        @Override
+        public ImmutableValue<Set<E>> with(Set<E> value) {
+            return new SimpleImmutableSetValue<>(key, value);
+        }
+
+        @Override
+        public SetValue<E> asMutable() {
+            return new SimpleSetValue<>(key, new HashSet<>(value));
+        }
+
+        @Override
+        public boolean contains(E element) {
+            return value.contains(element);
+        }
+
+        @Override
+        public int size() {
+            return value.size();
+        }
+    }
+
+    static class SimpleMapValue<K, V> extends Base<Map<K, V>> implements MapValue<K, V> {
+        SimpleMapValue(Key<? extends BaseValue<Map<K, V>>> key, Map<K, V> value) {
+            super(key, value);
+        }
+
+        @Override
+        public MapValue<K, V> set(Map<K, V> value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public int size() {
+            return value.size();
+        }
+
+        @Override
+        public ImmutableMapValue<K, V> asImmutable() {
+            return new SimpleImmutableMapValue<>(key, Collections.unmodifiableMap(new HashMap<>(value)));
+        }
+    }
+
+    static class SimpleImmutableMapValue<K, V> extends Base<Map<K, V>> implements ImmutableMapValue<K, V> {
+        SimpleImmutableMapValue(Key<? extends BaseValue<Map<K, V>>> key, Map<K, V> value) {
+            super(key, value);
+        }
+
+        @Override
+        public ImmutableValue<Map<K, V>> with(Map<K, V> value) {
+            return new SimpleImmutableMapValue<>(key, value);
+        }
+
+        @Override
+        public MapValue<K, V> asMutable() {
+            return new SimpleMapValue<>(key, new HashMap<>(value));
+        }
+
+        @Override
+        public int size() {
+            return value.size();
+        }
+    }
+
+    static class SimpleOptionalValue<E> extends Base<Optional<E>> implements OptionalValue<E> {
+        SimpleOptionalValue(Key<? extends BaseValue<Optional<E>>> key, Optional<E> value) {
+            super(key, value);
+        }
+
+        @Override
+        public OptionalValue<E> set(Optional<E> value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public ImmutableValue<Optional<E>> asImmutable() {
+            return new SimpleImmutableOptionalValue<>(key, value);
+        }
+    }
+
+    static class SimpleImmutableOptionalValue<E> extends Base<Optional<E>> implements ImmutableOptionalValue<E> {
+        SimpleImmutableOptionalValue(Key<? extends BaseValue<Optional<E>>> key, Optional<E> value) {
+            super(key, value);
+        }
+
+        @Override
+        public ImmutableValue<Optional<E>> with(Optional<E> value) {
+            return new SimpleImmutableOptionalValue<>(key, value);
+        }
+
+        @Override
+        public OptionalValue<E> asMutable() {
+            return new SimpleOptionalValue<>(key, value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.spongepowered.api.data.value;
+
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+
+import java.util.Optional;
+import java.util.Set;
+
+public interface ValueContainer<C extends ValueContainer<C>> {
+    <E> Optional<E> get(Key<? extends BaseValue<E>> key);
+
+    <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key);
+
+    boolean supports(Key<?> key);
+
+    C copy();
+
+    Set<Key<?>> getKeys();
+
+    Set<ImmutableValue<?>> getValues();
+}
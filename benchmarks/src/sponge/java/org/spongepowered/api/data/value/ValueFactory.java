@@ -0,0 +1,35 @@
+package org.spongepowered.api.data.value;
+
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.mutable.ListValue;
+import org.spongepowered.api.data.value.mutable.MapValue;
+import org.spongepowered.api.data.value.mutable.OptionalValue;
+import org.spongepowered.api.data.value.mutable.SetValue;
+import org.spongepowered.api.data.value.mutable.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class ValueFactory {
+    public <E> Value<E> createValue(Key<? extends BaseValue<E>> key, E element) {
+        return new SimpleValues.SimpleValue<>(key, element);
+    }
+
+    public <E> ListValue<E> createListValue(Key<? extends BaseValue<List<E>>> key, List<E> elements) {
+        return new SimpleValues.SimpleListValue<>(key, elements);
+    }
+
+    public <E> SetValue<E> createSetValue(Key<? extends BaseValue<Set<E>>> key, Set<E> elements) {
+        return new SimpleValues.SimpleSetValue<>(key, elements);
+    }
+
+    public <K, V> MapValue<K, V> createMapValue(Key<? extends BaseValue<Map<K, V>>> key, Map<K, V> map) {
+        return new SimpleValues.SimpleMapValue<>(key, map);
+    }
+
+    public <E> OptionalValue<E> createOptionalValue(Key<? extends BaseValue<Optional<E>>> key, E element) {
+        return new SimpleValues.SimpleOptionalValue<>(key, Optional.ofNullable(element));
+    }
+}
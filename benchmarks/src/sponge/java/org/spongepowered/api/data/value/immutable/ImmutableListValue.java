@@ -0,0 +1,14 @@
+package org.spongepowered.api.data.value.immutable;
+
+import org.spongepowered.api.data.value.mutable.ListValue;
+
+import java.util.List;
+
+public interface ImmutableListValue<E> extends ImmutableValue<List<E>> {
+    E get(int index);
+
+    int size();
+
+    @Override
+    ListValue<E> asMutable();
+}
@@ -0,0 +1,12 @@
+package org.spongepowered.api.data.value.immutable;
+
+import org.spongepowered.api.data.value.mutable.MapValue;
+
+import java.util.Map;
+
+public interface ImmutableMapValue<K, V> extends ImmutableValue<Map<K, V>> {
+    int size();
+
+    @Override
+    MapValue<K, V> asMutable();
+}
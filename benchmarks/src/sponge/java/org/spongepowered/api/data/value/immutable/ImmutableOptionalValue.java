@@ -0,0 +1,10 @@
+package org.spongepowered.api.data.value.immutable;
+
+import org.spongepowered.api.data.value.mutable.OptionalValue;
+
+import java.util.Optional;
+
+public interface ImmutableOptionalValue<E> extends ImmutableValue<Optional<E>> {
+    @Override
+    OptionalValue<E> asMutable();
+}
@@ -0,0 +1,14 @@
+package org.spongepowered.api.data.value.immutable;
+
+import org.spongepowered.api.data.value.mutable.SetValue;
+
+import java.util.Set;
+
+public interface ImmutableSetValue<E> extends ImmutableValue<Set<E>> {
+    boolean contains(E element);
+
+    int size();
+
+    @Override
+    SetValue<E> asMutable();
+}
@@ -0,0 +1,10 @@
+package org.spongepowered.api.data.value.immutable;
+
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.mutable.Value;
+
+public interface ImmutableValue<E> extends BaseValue<E> {
+    ImmutableValue<E> with(E value);
+
+    Value<E> asMutable();
+}
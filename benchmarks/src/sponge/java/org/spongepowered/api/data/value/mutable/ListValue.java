@@ -0,0 +1,17 @@
+package org.spongepowered.api.data.value.mutable;
+
+import org.spongepowered.api.data.value.immutable.ImmutableListValue;
+
+import java.util.List;
+
+public interface ListValue<E> extends Value<List<E>> {
+    @Override
+    ListValue<E> set(List<E> value);
+
+    E get(int index);
+
+    int size();
+
+    @Override
+    ImmutableListValue<E> asImmutable();
+}
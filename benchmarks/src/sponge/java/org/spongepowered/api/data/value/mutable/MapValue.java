@@ -0,0 +1,15 @@
+package org.spongepowered.api.data.value.mutable;
+
+import org.spongepowered.api.data.value.immutable.ImmutableMapValue;
+
+import java.util.Map;
+
+public interface MapValue<K, V> extends Value<Map<K, V>> {
+    @Override
+    MapValue<K, V> set(Map<K, V> value);
+
+    int size();
+
+    @Override
+    ImmutableMapValue<K, V> asImmutable();
+}
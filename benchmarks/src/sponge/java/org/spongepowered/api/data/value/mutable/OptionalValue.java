@@ -0,0 +1,8 @@
+package org.spongepowered.api.data.value.mutable;
+
+import java.util.Optional;
+
+public interface OptionalValue<E> extends Value<Optional<E>> {
+    @Override
+    OptionalValue<E> set(Optional<E> value);
+}
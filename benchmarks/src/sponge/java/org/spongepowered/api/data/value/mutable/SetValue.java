@@ -0,0 +1,17 @@
+package org.spongepowered.api.data.value.mutable;
+
+import org.spongepowered.api.data.value.immutable.ImmutableSetValue;
+
+import java.util.Set;
+
+public interface SetValue<E> extends Value<Set<E>> {
+    @Override
+    SetValue<E> set(Set<E> value);
+
+    boolean contains(E element);
+
+    int size();
+
+    @Override
+    ImmutableSetValue<E> asImmutable();
+}
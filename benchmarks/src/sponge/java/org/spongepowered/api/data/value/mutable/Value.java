@@ -0,0 +1,10 @@
+package org.spongepowered.api.data.value.mutable;
+
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+
+public interface Value<E> extends BaseValue<E> {
+    Value<E> set(E value);
+
+    ImmutableValue<E> asImmutable();
+}
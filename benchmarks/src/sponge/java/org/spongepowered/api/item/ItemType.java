@@ -0,0 +1,6 @@
+package org.spongepowered.api.item;
+
+import org.spongepowered.api.CatalogType;
+
+public interface ItemType extends CatalogType {
+}
@@ -0,0 +1,26 @@
+package org.spongepowered.api.item;
+
+import org.spongepowered.api.Sponge;
+
+public final class ItemTypes {
+    public static final ItemType NONE = type("minecraft:none");
+    public static final ItemType DIAMOND = type("minecraft:diamond");
+
+    private ItemTypes() {}
+
+    private static ItemType type(String id) {
+        ItemType type = new ItemType() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return id;
+            }
+        };
+        Sponge.getRegistry().register(type);
+        return type;
+    }
+}
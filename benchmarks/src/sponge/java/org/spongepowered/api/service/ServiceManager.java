@@ -0,0 +1,21 @@
+package org.spongepowered.api.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ServiceManager {
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+    public <T> void setProvider(Class<T> service, T provider) {
+        services.put(service, provider);
+    }
+
+    public <T> Optional<T> provide(Class<T> service) {
+        return Optional.ofNullable(service.cast(services.get(service)));
+    }
+
+    public <T> T provideUnchecked(Class<T> service) {
+        return provide(service).orElseThrow(IllegalStateException::new);
+    }
+}
@@ -0,0 +1,39 @@
+package org.spongepowered.api.text;
+
+import java.util.Objects;
+
+public final class Text {
+    private static final Text EMPTY = new Text("");
+    private final String plain;
+
+    private Text(String plain) {
+        this.plain = plain;
+    }
+
+    public static Text of() {
+        return EMPTY;
+    }
+
+    public static Text of(String plain) {
+        return plain.isEmpty() ? EMPTY : new Text(plain);
+    }
+
+    public String toPlain() {
+        return plain;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Text && ((Text) o).plain.equals(plain);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(plain);
+    }
+
+    @Override
+    public String toString() {
+        return plain;
+    }
+}
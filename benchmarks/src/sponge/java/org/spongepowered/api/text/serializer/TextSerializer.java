@@ -0,0 +1,9 @@
+package org.spongepowered.api.text.serializer;
+
+import org.spongepowered.api.text.Text;
+
+public interface TextSerializer {
+    String serialize(Text text);
+
+    Text deserialize(String input);
+}
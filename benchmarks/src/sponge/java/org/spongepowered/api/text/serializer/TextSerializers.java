@@ -0,0 +1,19 @@
+package org.spongepowered.api.text.serializer;
+
+import org.spongepowered.api.text.Text;
+
+public final class TextSerializers {
+    public static final TextSerializer JSON = new TextSerializer() {
+        @Override
+        public String serialize(Text text) {
+            return text.toPlain();
+        }
+
+        @Override
+        public Text deserialize(String input) {
+            return Text.of(input);
+        }
+    };
+
+    private TextSerializers() {}
+}
@@ -0,0 +1,109 @@
+package org.spongepowered.api.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public final class Coerce {
+    private Coerce() {}
+
+    public static List<?> toList(Object obj) {
+        if (obj == null) {
+            return new ArrayList<>();
+        }
+        if (obj instanceof List) {
+            return (List<?>) obj;
+        }
+        if (obj instanceof Collection) {
+            return new ArrayList<>((Collection<?>) obj);
+        }
+        if (obj instanceof Object[]) {
+            return Arrays.asList((Object[]) obj);
+        }
+        List<Object> list = new ArrayList<>();
+        list.add(obj);
+        return list;
+    }
+
+    public static int toInteger(Object obj) {
+        if (obj instanceof Number) {
+            return ((Number) obj).intValue();
+        }
+        if (obj instanceof Character) {
+            return (Character) obj;
+        }
+        try {
+            return obj == null ? 0 : Integer.parseInt(obj.toString().trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    public static long toLong(Object obj) {
+        if (obj instanceof Number) {
+            return ((Number) obj).longValue();
+        }
+        try {
+            return obj == null ? 0 : Long.parseLong(obj.toString().trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    public static double toDouble(Object obj) {
+        if (obj instanceof Number) {
+            return ((Number) obj).doubleValue();
+        }
+        try {
+            return obj == null ? 0 : Double.parseDouble(obj.toString().trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    public static float toFloat(Object obj) {
+        return (float) toDouble(obj);
+    }
+
+    public static short toShort(Object obj) {
+        return (short) toInteger(obj);
+    }
+
+    public static byte toByte(Object obj) {
+        return (byte) toInteger(obj);
+    }
+
+    public static char toChar(Object obj) {
+        if (obj instanceof Character) {
+            return (Character) obj;
+        }
+        if (obj instanceof Number) {
+            return (char) ((Number) obj).intValue();
+        }
+        String s = obj == null ? "" : obj.toString();
+        return s.isEmpty() ? '\u0000' : s.charAt(0);
+    }
+
+    public static boolean toBoolean(Object obj) {
+        if (obj instanceof Boolean) {
+            return (Boolean) obj;
+        }
+        if (obj instanceof Number) {
+            return ((Number) obj).intValue() != 0;
+        }
+        return obj != null && (obj.toString().equalsIgnoreCase("true") || obj.toString().equals("1"));
+    }
+
+    public static Optional<Integer> asInteger(Object obj) {
+        if (obj instanceof Number || obj instanceof Character) {
+            return Optional.of(toInteger(obj));
+        }
+        try {
+            return obj == null ? Optional.empty() : Optional.of(Integer.parseInt(obj.toString().trim()));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package flavor.pie.generator.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+//a delta has to read back like a full container, array backed fields included
+public class DeltaRoundTripTest {
+    @Test
+    public void arrayFields() {
+        ArrayData data = new ArrayData();
+        data.setSlots(Arrays.asList(3, 1, 2));
+        data.setIds(ImmutableSet.of(9L, 4L, 9L));
+        data.setSymbols(ImmutableSet.of('b', 'a'));
+        DataContainer delta = data.toContainerDelta();
+        ArrayData read = new ArrayData().from(delta).get();
+        assertEquals(Arrays.asList(3, 1, 2), read.getSlots());
+        assertEquals(ImmutableSet.of(4L, 9L), read.getIds());
+        assertEquals(ImmutableSet.of('a', 'b'), read.getSymbols());
+        assertEquals(data, read);
+    }
+
+    @Test
+    public void unchangedFieldsAreLeftOut() {
+        ArrayData data = new ArrayData();
+        data.clearDirty();
+        data.setWeights(Arrays.asList(1.5, -0.5));
+        ArrayData read = new ArrayData().from(data.toContainerDelta()).get();
+        assertEquals(Arrays.asList(1.5, -0.5), read.getWeights());
+        assertEquals(1, data.changedKeys().size());
+    }
+
+    @Test
+    public void newDataIsAllChanged() {
+        ArrayData data = new ArrayData();
+        int fields = data.changedKeys().size();
+        assertTrue(fields > 1);
+        data.clearDirty();
+        data.setSlots(Arrays.asList(1, 2));
+        assertEquals(1, data.copy().changedKeys().size());
+        assertEquals(fields, data.reset().changedKeys().size());
+    }
+}
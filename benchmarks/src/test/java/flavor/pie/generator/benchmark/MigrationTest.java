@@ -0,0 +1,29 @@
+package flavor.pie.generator.benchmark;
+
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.api.data.Queries;
+import org.spongepowered.api.text.Text;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+//fields that need the container's translators have to be read from the migrated content, not the stored one
+public class MigrationTest {
+    @Test
+    public void renamedFields() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        DataContainer stored = new MemoryDataContainer()
+                .set(Queries.CONTENT_VERSION, 1)
+                .set(DataQuery.of("OldTitle"), "Hello")
+                .set(DataQuery.of("OldOwners"), Arrays.asList(first.toString(), second.toString()));
+        MigratedData data = new MigratedData().from(stored).get();
+        assertEquals(Text.of("Hello"), data.getTitle());
+        assertEquals(Arrays.asList(first, second), data.getOwners());
+    }
+}
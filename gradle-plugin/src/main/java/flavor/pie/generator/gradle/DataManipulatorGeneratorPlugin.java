@@ -0,0 +1,30 @@
+package flavor.pie.generator.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.JavaPluginConvention;
+import org.gradle.api.tasks.SourceSet;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+
+public class DataManipulatorGeneratorPlugin implements Plugin<Project> {
+    @Override
+    public void apply(Project project) {
+        project.getPluginManager().apply(JavaPlugin.class);
+        //every source set, including ones added by other plugins later, generates from its own manipulators directory
+        project.getConvention().getPlugin(JavaPluginConvention.class).getSourceSets().all(sourceSet -> {
+            String specs = "src/" + sourceSet.getName() + "/manipulators";
+            boolean main = sourceSet.getName().equals(SourceSet.MAIN_SOURCE_SET_NAME);
+            GenerateManipulators task = project.getTasks().create(sourceSet.getTaskName("generate", "Manipulators"),
+                    GenerateManipulators.class);
+            task.setDescription("Generates data manipulators from the specs in " + specs + ".");
+            task.specs(project.fileTree(specs).include("**/*.conf"));
+            task.setOutputDirectory(new File(project.getBuildDir(), "generated/sources/"
+                    + (main ? "manipulators" : sourceSet.getName() + "Manipulators")));
+            sourceSet.getJava().srcDir((Callable<File>) task::getOutputDirectory);
+            project.getTasks().getByName(sourceSet.getCompileJavaTaskName()).dependsOn(task);
+        });
+    }
+}
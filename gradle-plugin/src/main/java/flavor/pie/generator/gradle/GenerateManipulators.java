@@ -0,0 +1,124 @@
+package flavor.pie.generator.gradle;
+
+import flavor.pie.generator.data.DataManipulatorGenerator;
+import flavor.pie.generator.data.GeneratorOptions;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+@CacheableTask
+public class GenerateManipulators extends DefaultTask {
+    private final ConfigurableFileCollection specs = getProject().files();
+    private File outputDirectory;
+    private String timestamp = "1970-01-01T00:00:00Z";
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String sharedTokens;
+    private String registration;
+
+    @InputFiles
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getSpecs() {
+        return specs;
+    }
+
+    public void specs(Object... paths) {
+        specs.from(paths);
+    }
+
+    @OutputDirectory
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(Object outputDirectory) {
+        this.outputDirectory = getProject().file(outputDirectory);
+    }
+
+    //a wall-clock date would make the outputs differ on every machine
+    @Input
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Input
+    public String getLineSeparator() {
+        return System.lineSeparator();
+    }
+
+    @Input
+    @Optional
+    public String getSharedTokens() {
+        return sharedTokens;
+    }
+
+    public void setSharedTokens(String sharedTokens) {
+        this.sharedTokens = sharedTokens;
+    }
+
+    @Input
+    @Optional
+    public String getRegistration() {
+        return registration;
+    }
+
+    public void setRegistration(String registration) {
+        this.registration = registration;
+    }
+
+    @Internal
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @TaskAction
+    public void generate() throws Exception {
+        getProject().delete(outputDirectory);
+        List<String> args = new ArrayList<>();
+        args.add("--output");
+        args.add(outputDirectory.getAbsolutePath());
+        args.add("--package-dirs");
+        args.add("--timestamp");
+        args.add(timestamp);
+        args.add("--threads");
+        args.add(String.valueOf(threads));
+        if (sharedTokens != null) {
+            args.add("--shared-tokens");
+            args.add(sharedTokens);
+        }
+        if (registration != null) {
+            args.add("--registration");
+            args.add(registration);
+        }
+        //as plain files, since --batch would read brackets or braces in a path as a glob
+        for (File spec : specs.getFiles()) {
+            args.add(spec.getAbsolutePath());
+        }
+        if (!DataManipulatorGenerator.generate(GeneratorOptions.parse(args.toArray(new String[0])))) {
+            throw new GradleException("Failed to generate data manipulators, see the output above");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package flavor.pie.generator.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ManipulatorMetrics {
+    //the last bucket takes everything from about four and a half minutes up
+    public static final int BUCKETS = 40;
+    private static final Map<Class<?>, ManipulatorMetrics> metrics = new ConcurrentHashMap<>();
+
+    private final Class<?> manipulator;
+    //striped, so threads recording at the same time do not contend on one counter
+    private final LongAdder[] counts = new LongAdder[Operation.values().length];
+    private final LongAdder[] nanos = new LongAdder[Operation.values().length];
+    private final LongAdder[][] buckets = new LongAdder[Operation.values().length][BUCKETS];
+
+    private ManipulatorMetrics(Class<?> manipulator) {
+        this.manipulator = manipulator;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+            for (int j = 0; j < BUCKETS; j++) {
+                buckets[i][j] = new LongAdder();
+            }
+        }
+    }
+
+    public static ManipulatorMetrics of(Class<?> manipulator) {
+        return metrics.computeIfAbsent(manipulator, ManipulatorMetrics::new);
+    }
+
+    public void record(Operation operation, long start) {
+        long elapsed = System.nanoTime() - start;
+        int index = operation.ordinal();
+        counts[index].increment();
+        nanos[index].add(elapsed);
+        buckets[index][Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, elapsed)))].increment();
+    }
+
+    //the totals since the class was loaded, operations that never ran are left out
+    public void export(MetricsSink sink) {
+        for (Operation operation : Operation.values()) {
+            int index = operation.ordinal();
+            long count = counts[index].sum();
+            if (count == 0) {
+                continue;
+            }
+            long[] histogram = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = buckets[index][i].sum();
+            }
+            sink.accept(manipulator, operation, count, nanos[index].sum(), histogram);
+        }
+    }
+
+    public static void exportAll(MetricsSink sink) {
+        metrics.values().forEach(m -> m.export(sink));
+    }
+}
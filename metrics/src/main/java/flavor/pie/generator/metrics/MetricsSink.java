@@ -0,0 +1,6 @@
+package flavor.pie.generator.metrics;
+
+public interface MetricsSink {
+    //buckets[i] counts the calls that took less than 2^i but at least 2^(i - 1) nanoseconds
+    void accept(Class<?> manipulator, Operation operation, long count, long totalNanos, long[] buckets);
+}
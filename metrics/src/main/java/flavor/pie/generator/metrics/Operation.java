@@ -0,0 +1,10 @@
+package flavor.pie.generator.metrics;
+
+public enum Operation {
+    FROM,
+    TO_CONTAINER,
+    COPY,
+    AS_IMMUTABLE,
+    FILL,
+    BUILD
+}
@@ -0,0 +1,292 @@
+package flavor.pie.generator.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchGenerator {
+    private final GeneratorOptions options;
+    private final int threads;
+
+    public BatchGenerator(GeneratorOptions options) {
+        this.options = options;
+        this.threads = Math.max(1, options.threads);
+    }
+
+    public static List<File> collect(String pattern) throws IOException {
+        Path path = Paths.get(pattern);
+        Path base = base(pattern);
+        if (!Files.isDirectory(base)) {
+            return Files.exists(path) ? Collections.singletonList(path.toFile()) : new ArrayList<>();
+        }
+        PathMatcher matcher = matcher(pattern);
+        try (Stream<Path> stream = Files.walk(base)) {
+            return stream.filter(Files::isRegularFile).filter(matcher::matches).sorted()
+                    .map(Path::toFile).collect(Collectors.toList());
+        }
+    }
+
+    static Path base(String pattern) {
+        Path path = Paths.get(pattern);
+        if (Files.isDirectory(path)) {
+            return path;
+        }
+        // walk from the deepest directory that contains no glob characters
+        Path base = Paths.get("");
+        for (Path element : path) {
+            if (element.toString().matches(".*[*?\\[{].*")) {
+                break;
+            }
+            base = base.resolve(element);
+        }
+        return path.isAbsolute() ? path.getRoot().resolve(base) : base;
+    }
+
+    static PathMatcher matcher(String pattern) {
+        if (Files.isDirectory(Paths.get(pattern))) {
+            return p -> p.getFileName().toString().endsWith(".conf");
+        }
+        return FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+    }
+
+    public boolean run(List<File> files) throws InterruptedException, IOException {
+        long start = System.nanoTime();
+        files = unique(files);
+        // one timestamp for the whole batch, so output does not depend on scheduling
+        Instant now = Instant.now();
+        Manifest manifest = options.incremental ? Manifest.load(options.manifest) : null;
+        int poolSize = Math.min(threads, Math.max(1, files.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<Result>> loaded = new ArrayList<>();
+            for (File file : files) {
+                loaded.add(pool.submit(() -> {
+                    long time = System.nanoTime();
+                    Result result = new Result(file);
+                    try {
+                        result.load();
+                    } catch (IOException | RuntimeException ex) {
+                        ex.printStackTrace();
+                    }
+                    result.time = System.nanoTime() - time;
+                    return result;
+                }));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : loaded) {
+                results.add(get(future));
+            }
+
+            //every spec has to be loaded before any keys class can refer to the holder
+            List<Manipulator> manipulators = results.stream().map(r -> r.manipulator).filter(Objects::nonNull).collect(Collectors.toList());
+            Map<File, String> shared = new LinkedHashMap<>();
+            JavaEmitter emitter = new JavaEmitter(System.getProperty("line.separator"));
+            if (options.sharedTokens != null) {
+                SharedTokens tokens = SharedTokens.collect(options.sharedTokens, manipulators);
+                if (!tokens.isEmpty()) {
+                    shared.put(new File(DataManipulatorGenerator.directory(tokens.packagename, options), tokens.classname + ".java"),
+                            emitter.emit(tokens.file(options.date(files, now))));
+                }
+            }
+            if (options.registration != null) {
+                Registration registration = Registration.collect(options.registration, manipulators);
+                if (!registration.isEmpty()) {
+                    File output = new File(DataManipulatorGenerator.directory(registration.packagename, options), registration.classname + ".java");
+                    if (shared.containsKey(output)) {
+                        System.err.printf("%s is generated by both --shared-tokens and --registration!%n", output);
+                        return false;
+                    }
+                    shared.put(output, emitter.emit(registration.file(options.date(files, now))));
+                }
+            }
+
+            List<Future<?>> rendered = new ArrayList<>();
+            for (Result result : results) {
+                rendered.add(pool.submit(() -> {
+                    if (result.manipulator == null) {
+                        return;
+                    }
+                    long time = System.nanoTime();
+                    try {
+                        result.render(manifest, now);
+                    } catch (IOException | RuntimeException ex) {
+                        ex.printStackTrace();
+                    }
+                    result.time += System.nanoTime() - time;
+                }));
+            }
+            for (Future<?> future : rendered) {
+                get(future);
+            }
+
+            //two specs writing the same file would race, so neither of them is written
+            Map<File, Result> owners = new HashMap<>();
+            boolean sharedConflict = false;
+            for (Result result : results) {
+                if (result.sources == null) continue;
+                for (File output : result.sources.keySet()) {
+                    Result owner = owners.putIfAbsent(output.getAbsoluteFile(), result);
+                    if (owner != null) {
+                        System.err.printf("%s is generated by both %s and %s!%n", output, owner.file, result.file);
+                        owner.conflict = true;
+                        result.conflict = true;
+                    }
+                    if (shared.containsKey(output)) {
+                        System.err.printf("%s is generated by both %s and the batch!%n", output, result.file);
+                        result.conflict = true;
+                        sharedConflict = true;
+                    }
+                }
+            }
+
+            List<Future<Boolean>> written = new ArrayList<>();
+            for (Result result : results) {
+                written.add(pool.submit(() -> {
+                    if (result.sources == null || result.conflict) {
+                        return false;
+                    }
+                    long time = System.nanoTime();
+                    boolean success = result.write();
+                    result.time += System.nanoTime() - time;
+                    return success;
+                }));
+            }
+            List<Boolean> success = new ArrayList<>();
+            for (Future<Boolean> future : written) {
+                success.add(get(future));
+            }
+            boolean sharedWritten = !sharedConflict && writeShared(shared);
+
+            int succeeded = 0;
+            int skipped = 0;
+            for (int i = 0; i < results.size(); i++) {
+                Result result = results.get(i);
+                if (success.get(i)) {
+                    succeeded++;
+                    if (result.sources.isEmpty()) {
+                        skipped++;
+                        System.out.printf("%s up to date%n", result.file);
+                    } else {
+                        System.out.printf("%s -> %s (%d ms)%n", result.file, result.sources.keySet().stream()
+                                .map(f -> result.changed.contains(f) ? f.getName() : f.getName() + " (unchanged)")
+                                .collect(Collectors.joining(", ")), result.time / 1_000_000);
+                    }
+                } else {
+                    System.out.printf("%s FAILED%n", result.file);
+                }
+            }
+            if (manifest != null) {
+                for (int i = 0; i < results.size(); i++) {
+                    if (success.get(i) && results.get(i).hash != null) {
+                        manifest.record(results.get(i).file, results.get(i).hash, results.get(i).sources);
+                    }
+                }
+                manifest.save();
+            }
+            System.out.printf("Generated %d of %d specs (%d up to date) in %d ms using %d threads%n", succeeded,
+                    results.size(), skipped, (System.nanoTime() - start) / 1_000_000, poolSize);
+            return sharedWritten && succeeded == results.size();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    //a spec matched by two patterns, or reached through a link, would otherwise conflict with itself
+    static List<File> unique(List<File> files) throws IOException {
+        Map<Path, File> unique = new LinkedHashMap<>();
+        for (File file : files) {
+            Path path = file.exists() ? file.toPath().toRealPath() : file.toPath().toAbsolutePath().normalize();
+            unique.putIfAbsent(path, file);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    //the classes made from the whole batch rather than one spec
+    private static boolean writeShared(Map<File, String> shared) {
+        for (Map.Entry<File, String> source : shared.entrySet()) {
+            try {
+                boolean changed = DataManipulatorGenerator.write(source.getKey(), source.getValue());
+                System.out.printf("Batch -> %s%n", changed ? source.getKey().getName() : source.getKey().getName() + " (unchanged)");
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> T get(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+
+    private class Result {
+        final File file;
+        byte[] spec;
+        Manipulator manipulator;
+        Map<File, String> sources;
+        Set<File> changed = new HashSet<>();
+        String hash;
+        long time;
+        boolean conflict;
+
+        Result(File file) {
+            this.file = file;
+        }
+
+        void load() throws IOException {
+            spec = Files.readAllBytes(file.toPath());
+            manipulator = DataManipulatorGenerator.load(file);
+        }
+
+        void render(Manifest manifest, Instant now) throws IOException {
+            Instant date = options.date(file, now);
+            if (manifest != null) {
+                //a wall-clock date would make every spec look changed
+                hash = Manifest.hash(spec, manipulator, options.isReproducible() ? date : null);
+                if (manifest.isUpToDate(file, hash, DataManipulatorGenerator.outputs(manipulator, options))) {
+                    sources = Collections.emptyMap();
+                    return;
+                }
+            }
+            sources = DataManipulatorGenerator.render(manipulator, date, options);
+        }
+
+        boolean write() {
+            for (Map.Entry<File, String> source : sources.entrySet()) {
+                try {
+                    if (DataManipulatorGenerator.write(source.getKey(), source.getValue())) {
+                        changed.add(source.getKey());
+                    }
+                } catch (IOException ex) {
+                    ex.printStackTrace();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package flavor.pie.generator.data;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//a fixed binary layout in field order: a presence bitmap for optional fields, primitives inline,
+//strings and collections prefixed with their length
+class BinaryCodec {
+    private static final Map<String, String> kinds = ImmutableMap.<String, String>builder()
+            .put("I", "I").put("int", "I").put("Integer", "I").put("java.lang.Integer", "I")
+            .put("Z", "Z").put("boolean", "Z").put("Boolean", "Z").put("java.lang.Boolean", "Z")
+            .put("D", "D").put("double", "D").put("Double", "D").put("java.lang.Double", "D")
+            .put("F", "F").put("float", "F").put("Float", "F").put("java.lang.Float", "F")
+            .put("L", "L").put("long", "L").put("Long", "L").put("java.lang.Long", "L")
+            .put("S", "S").put("short", "S").put("Short", "S").put("java.lang.Short", "S")
+            .put("B", "B").put("byte", "B").put("Byte", "B").put("java.lang.Byte", "B")
+            .put("C", "C").put("char", "C").put("Character", "C").put("java.lang.Character", "C")
+            .put("String", "String").put("java.lang.String", "String")
+            .put("UUID", "UUID").put("java.util.UUID", "UUID")
+            .put("org.spongepowered.api.text.Text", "Text")
+            .build();
+    private static final Map<String, Integer> sizes = ImmutableMap.<String, Integer>builder()
+            .put("I", 4).put("Z", 1).put("D", 8).put("F", 4).put("L", 8).put("S", 2).put("B", 1).put("C", 2).put("UUID", 16)
+            .build();
+    //catalog types are written as their id and looked up in the registry again
+    private static final Set<String> catalogTypes = ImmutableSet.of("org.spongepowered.api.item.ItemType",
+            "org.spongepowered.api.block.BlockType", "org.spongepowered.api.statistic.Achievement",
+            "org.spongepowered.api.data.type.ArmorType", "org.spongepowered.api.world.biome.BiomeType",
+            "org.spongepowered.api.boss.BossBarColor", "org.spongepowered.api.data.type.DyeColor",
+            "org.spongepowered.api.item.Enchantment", "org.spongepowered.api.entity.EntityType",
+            "org.spongepowered.api.item.FireworkShape", "org.spongepowered.api.extra.fluid.FluidType",
+            "org.spongepowered.api.world.PortalAgentType", "org.spongepowered.api.effect.potion.PotionEffectType",
+            "org.spongepowered.api.effect.sound.SoundType", "org.spongepowered.api.text.format.TextColor",
+            "org.spongepowered.api.data.type.ToolType", "org.spongepowered.api.service.economy.Currency");
+
+    private final Manipulator manipulator;
+    private final List<Manipulator.ManipulatorField> fields;
+    private final List<Manipulator.ManipulatorField> optional;
+
+    BinaryCodec(Manipulator manipulator, List<Manipulator.ManipulatorField> fields) {
+        this.manipulator = manipulator;
+        this.fields = fields;
+        this.optional = fields.stream().filter(f -> f.optional).collect(Collectors.toList());
+    }
+
+    static List<Manipulator.ManipulatorField> unsupported(Manipulator manipulator) {
+        return manipulator.fields.stream().filter(f -> !f.isTransient).filter(f -> {
+            switch (f.valueType) {
+                case LIST:
+                case SET: return !isElement(f.innerValue);
+                case MAP: return !isElement(f.innerKey) || !isElement(f.innerValue);
+                default: return kind(f.type) == null;
+            }
+        }).collect(Collectors.toList());
+    }
+
+    private static String kind(String type) {
+        return catalogTypes.contains(type) ? "Catalog" : kinds.get(type);
+    }
+
+    private static boolean isElement(String type) {
+        String kind = kinds.get(type);
+        return kind != null && !kind.equals("Text");
+    }
+
+    void imports(List<String> imports) {
+        imports.add("java.nio.ByteBuffer");
+        for (Manipulator.ManipulatorField f : fields) {
+            if (f.primitiveElement != null) {
+                continue;
+            }
+            switch (f.valueType) {
+                case LIST: imports.add("java.util.ArrayList"); break;
+                case SET: imports.add("com.google.common.collect.Sets"); break;
+                case MAP:
+                    imports.add("com.google.common.collect.Maps");
+                    imports.add("java.util.Map");
+                    break;
+                default:
+                    if ("Text".equals(kind(f.type))) {
+                        imports.add("org.spongepowered.api.text.serializer.TextSerializers");
+                    }
+            }
+        }
+        if (usesStrings()) {
+            imports.add("java.nio.charset.StandardCharsets");
+        }
+    }
+
+    //with a snapshot, the fields are read into a copy of the state, which is combined with the newest transient fields at the end
+    void mutable(JavaClass type, String classname, String snapshot, String rebuilt) {
+        String target = snapshot == null ? "this." : "next.";
+        if (snapshot == null) {
+            size(type);
+            write(type);
+        } else {
+            type.block("public int binarySize()").body.add("return state.binarySize();");
+            type.block("public void writeTo(ByteBuffer buffer)").body.add("state.writeTo(buffer);");
+        }
+        Code read = type.block("public " + classname + " readFrom(ByteBuffer buffer)").body;
+        if (snapshot != null) {
+            read.add("Immutable current = state;");
+            read.add("Immutable next = " + snapshot + ";");
+        }
+        for (int i = 0; i < optional.size(); i += 8) {
+            read.add("byte present" + i / 8 + " = buffer.get();");
+        }
+        if (fields.stream().anyMatch(f -> f.valueType == DataManipulatorGenerator.ValueType.LIST
+                || f.valueType == DataManipulatorGenerator.ValueType.SET || f.valueType == DataManipulatorGenerator.ValueType.MAP)) {
+            read.add("int size;");
+        }
+        fields.forEach(f -> {
+            switch (f.valueType) {
+                case LIST:
+                case SET:
+                    read.add("size = buffer.getInt();");
+                    if (f.primitiveElement != null) {
+                        //written sorted and distinct, so a set needs no sorting again
+                        read.add(target + f.name + " = new " + f.primitiveElement + "[size];");
+                        read.open("for (int i = 0; i < size; i++)").add(target + f.name + "[i] = " + read(kinds.get(f.innerValue), f.innerValue)
+                                + ";").close();
+                        break;
+                    }
+                    read.add(target + f.name + " = " + (f.valueType == DataManipulatorGenerator.ValueType.LIST ? "new ArrayList<>(size)"
+                            : "Sets.newHashSetWithExpectedSize(size)") + ";");
+                    read.open("for (int i = 0; i < size; i++)").add(target + f.name + ".add(" + read(kinds.get(f.innerValue), f.innerValue)
+                            + ");").close();
+                    break;
+                case MAP:
+                    read.add("size = buffer.getInt();");
+                    read.add(target + f.name + " = Maps.newHashMapWithExpectedSize(size);");
+                    read.open("for (int i = 0; i < size; i++)").add(target + f.name + ".put(" + read(kinds.get(f.innerKey), f.innerKey)
+                            + ", " + read(kinds.get(f.innerValue), f.innerValue) + ");").close();
+                    break;
+                case OPTIONAL:
+                    int index = optional.indexOf(f);
+                    read.add(target + f.name + " = (present" + index / 8 + " & " + (1 << index % 8) + ") != 0 ? " + read(kind(f.type), f, target)
+                            + " : null;");
+                    break;
+                default:
+                    read.add(target + f.name + " = " + read(kind(f.type), f, target) + ";");
+            }
+        });
+        if (manipulator.dirtyTracking) {
+            read.add(fields.size() > 64 ? "Arrays.fill(dirtyFields, 0);" : "dirtyFields = 0;");
+        }
+        if (snapshot != null) {
+            //the buffer cannot be read twice, so only the combining is retried
+            read.open("do").add("current = state;").close(" while (!STATE.compareAndSet(this, current, " + rebuilt + "));");
+        }
+        read.add("return this;");
+    }
+
+    void immutable(JavaClass type, String classname) {
+        size(type);
+        write(type);
+        type.block("public static Immutable readFrom(ByteBuffer buffer)").body.add("return new " + classname + "().readFrom(buffer).asImmutable();");
+    }
+
+    //shared by both classes, so they are only emitted once in the outer one
+    void helpers(JavaClass type) {
+        if (!usesStrings()) {
+            return;
+        }
+        Code length = type.block("private static int utf8Length(String value)").body;
+        length.add("int length = value.length();");
+        length.open("for (int i = 0; i < value.length(); i++)");
+        length.add("char c = value.charAt(i);");
+        length.open("if (c < 0x80)").add("continue;").close();
+        length.open("if (c < 0x800)").add("length++;");
+        length.next("else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1)))");
+        length.add("length += 2;").add("i++;");
+        //an unpaired surrogate is encoded as a single '?'
+        length.next("else if (!Character.isSurrogate(c))").add("length += 2;").close();
+        length.close();
+        length.add("return length;");
+
+        Code write = type.block("private static void writeString(ByteBuffer buffer, String value)").body;
+        write.add("byte[] bytes = value.getBytes(StandardCharsets.UTF_8);");
+        write.add("buffer.putInt(bytes.length).put(bytes);");
+
+        Code read = type.block("private static String readString(ByteBuffer buffer)").body;
+        read.add("int length = buffer.getInt();");
+        read.open("if (buffer.hasArray())");
+        read.add("String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);");
+        read.add("buffer.position(buffer.position() + length);");
+        read.add("return value;");
+        read.close();
+        read.add("byte[] bytes = new byte[length];");
+        read.add("buffer.get(bytes);");
+        read.add("return new String(bytes, StandardCharsets.UTF_8);");
+    }
+
+    private boolean usesStrings() {
+        return fields.stream().anyMatch(f -> {
+            switch (f.valueType) {
+                case LIST:
+                case SET: return kinds.get(f.innerValue).equals("String");
+                case MAP: return kinds.get(f.innerKey).equals("String") || kinds.get(f.innerValue).equals("String");
+                default:
+                    String kind = kind(f.type);
+                    return kind.equals("String") || kind.equals("Text") || kind.equals("Catalog");
+            }
+        });
+    }
+
+    private void size(JavaClass type) {
+        Code body = type.block("public int binarySize()").body;
+        int fixed = (optional.size() + 7) / 8;
+        for (Manipulator.ManipulatorField f : fields) {
+            if (!f.optional && f.valueType == DataManipulatorGenerator.ValueType.REGULAR && sizes.containsKey(kind(f.type))) {
+                fixed += sizes.get(kind(f.type));
+            }
+        }
+        body.add("int size = " + fixed + ";");
+        for (Manipulator.ManipulatorField f : fields) {
+            switch (f.valueType) {
+                case LIST:
+                case SET:
+                    Integer element = sizes.get(kinds.get(f.innerValue));
+                    if (element != null) {
+                        body.add("size += 4 + " + element + " * " + f.name + (f.primitiveElement != null ? ".length;" : ".size();"));
+                    } else {
+                        body.add("size += 4;");
+                        body.open("for (" + f.innerValue + " element : " + f.name + ")").add("size += " + size(kinds.get(f.innerValue), "element")
+                                + ";").close();
+                    }
+                    break;
+                case MAP:
+                    Integer key = sizes.get(kinds.get(f.innerKey));
+                    Integer value = sizes.get(kinds.get(f.innerValue));
+                    if (key != null && value != null) {
+                        body.add("size += 4 + " + (key + value) + " * " + f.name + ".size();");
+                    } else {
+                        body.add("size += 4;");
+                        body.open("for (Map.Entry<" + f.innerKey + ", " + f.innerValue + "> entry : " + f.name + ".entrySet())")
+                                .add("size += " + size(kinds.get(f.innerKey), "entry.getKey()") + " + "
+                                        + size(kinds.get(f.innerValue), "entry.getValue()") + ";").close();
+                    }
+                    break;
+                case OPTIONAL:
+                    body.open("if (" + f.name + " != null)").add("size += " + size(kind(f.type), f.name) + ";").close();
+                    break;
+                default:
+                    if (!sizes.containsKey(kind(f.type))) {
+                        body.add("size += " + size(kind(f.type), f.name) + ";");
+                    }
+            }
+        }
+        body.add("return size;");
+    }
+
+    private void write(JavaClass type) {
+        Code body = type.block("public void writeTo(ByteBuffer buffer)").body;
+        for (int i = 0; i < optional.size(); i += 8) {
+            List<Manipulator.ManipulatorField> group = optional.subList(i, Math.min(i + 8, optional.size()));
+            body.add("buffer.put((byte) (" + group.stream().map(f -> "(" + f.name + " != null ? " + (1 << optional.indexOf(f) % 8) + " : 0)")
+                    .collect(Collectors.joining(" | ")) + "));");
+        }
+        fields.forEach(f -> {
+            switch (f.valueType) {
+                case LIST:
+                case SET:
+                    body.add("buffer.putInt(" + f.name + (f.primitiveElement != null ? ".length);" : ".size());"));
+                    body.open("for (" + (f.primitiveElement != null ? f.primitiveElement : f.innerValue) + " element : " + f.name + ")")
+                            .add(write(kinds.get(f.innerValue), "element")).close();
+                    break;
+                case MAP:
+                    body.add("buffer.putInt(" + f.name + ".size());");
+                    body.open("for (Map.Entry<" + f.innerKey + ", " + f.innerValue + "> entry : " + f.name + ".entrySet())")
+                            .add(write(kinds.get(f.innerKey), "entry.getKey()")).add(write(kinds.get(f.innerValue), "entry.getValue()")).close();
+                    break;
+                case OPTIONAL:
+                    body.open("if (" + f.name + " != null)").add(write(kind(f.type), f.name)).close();
+                    break;
+                default:
+                    body.add(write(kind(f.type), f.name));
+            }
+        });
+    }
+
+    private static String size(String kind, String value) {
+        switch (kind) {
+            case "String": return "4 + utf8Length(" + value + ")";
+            case "Text": return "4 + utf8Length(TextSerializers.JSON.serialize(" + value + "))";
+            case "Catalog": return "4 + utf8Length(" + value + ".getId())";
+            default: return String.valueOf(sizes.get(kind));
+        }
+    }
+
+    private static String write(String kind, String value) {
+        switch (kind) {
+            case "I": return "buffer.putInt(" + value + ");";
+            case "Z": return "buffer.put((byte) (" + value + " ? 1 : 0));";
+            case "D": return "buffer.putDouble(" + value + ");";
+            case "F": return "buffer.putFloat(" + value + ");";
+            case "L": return "buffer.putLong(" + value + ");";
+            case "S": return "buffer.putShort(" + value + ");";
+            case "B": return "buffer.put(" + value + ");";
+            case "C": return "buffer.putChar(" + value + ");";
+            case "UUID": return "buffer.putLong(" + value + ".getMostSignificantBits()).putLong(" + value + ".getLeastSignificantBits());";
+            case "Text": return "writeString(buffer, TextSerializers.JSON.serialize(" + value + "));";
+            case "Catalog": return "writeString(buffer, " + value + ".getId());";
+            default: return "writeString(buffer, " + value + ");";
+        }
+    }
+
+    private static String read(String kind, Manipulator.ManipulatorField f, String target) {
+        if (kind.equals("Catalog")) {
+            //an id the registry no longer knows leaves the field as it was
+            return "Sponge.getRegistry().getType(" + f.boxedType + ".class, readString(buffer)).orElse(" + target + f.name + ")";
+        }
+        return read(kind, f.boxedType);
+    }
+
+    private static String read(String kind, String type) {
+        switch (kind) {
+            case "I": return "buffer.getInt()";
+            case "Z": return "buffer.get() != 0";
+            case "D": return "buffer.getDouble()";
+            case "F": return "buffer.getFloat()";
+            case "L": return "buffer.getLong()";
+            case "S": return "buffer.getShort()";
+            case "B": return "buffer.get()";
+            case "C": return "buffer.getChar()";
+            case "UUID": return "new UUID(buffer.getLong(), buffer.getLong())";
+            case "Text": return "TextSerializers.JSON.deserialize(readString(buffer))";
+            default: return "readString(buffer)";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package flavor.pie.generator.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class Code {
+    final List<String> lines = new ArrayList<>();
+    //indentation of each line, relative to the enclosing block
+    int[] depths = new int[16];
+    private int depth = 0;
+
+    Code add(String line) {
+        return add(depth, line);
+    }
+
+    //a wrapped statement, indented two levels past the current one
+    Code continued(String line) {
+        return add(depth + 2, line);
+    }
+
+    Code open(String line) {
+        add(depth, line + " {");
+        depth++;
+        return this;
+    }
+
+    //closes the block and opens the next one on the same line, as in } else {
+    Code next(String line) {
+        depth--;
+        add(depth, "} " + line + " {");
+        depth++;
+        return this;
+    }
+
+    Code close() {
+        return close("");
+    }
+
+    Code close(String suffix) {
+        depth--;
+        return add(depth, "}" + suffix);
+    }
+
+    Code append(String text) {
+        int last = lines.size() - 1;
+        lines.set(last, lines.get(last) + text);
+        return this;
+    }
+
+    //moves the finished body into a try block, with a statement before it and one in its finally block
+    Code tryFinally(String before, String after) {
+        List<String> body = new ArrayList<>(lines);
+        int[] bodyDepths = Arrays.copyOf(depths, body.size());
+        lines.clear();
+        add(before);
+        open("try");
+        for (int i = 0; i < body.size(); i++) {
+            add(depth + bodyDepths[i], body.get(i));
+        }
+        next("finally");
+        add(after);
+        return close();
+    }
+
+    boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    private Code add(int depth, String line) {
+        if (lines.size() == depths.length) {
+            int[] grown = new int[depths.length * 2];
+            System.arraycopy(depths, 0, grown, 0, depths.length);
+            depths = grown;
+        }
+        depths[lines.size()] = depth;
+        lines.add(line);
+        return this;
+    }
+
+    int estimateSize() {
+        int size = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            size += lines.get(i).length() + depths[i] * 4 + 16;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,115 @@
+package flavor.pie.generator.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GeneratorOptions {
+    List<File> files = new ArrayList<>();
+    List<String> batch = new ArrayList<>();
+    int threads = Runtime.getRuntime().availableProcessors();
+    String timestamp = "now";
+    boolean incremental = false;
+    File manifest = new File(".manipulators.manifest");
+    File output = null;
+    boolean packageDirectories = false;
+    boolean watch = false;
+    long debounce = 100;
+    String sharedTokens = null;
+    String registration = null;
+
+    public static GeneratorOptions parse(String[] args) {
+        GeneratorOptions options = new GeneratorOptions();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch":
+                    options.batch.add(value(args, ++i, "a directory or glob"));
+                    break;
+                case "--threads":
+                    try {
+                        options.threads = Integer.parseInt(value(args, ++i, "a number"));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("--threads requires a number");
+                    }
+                    break;
+                case "--timestamp":
+                    options.timestamp = value(args, ++i, "now, mtime or an ISO-8601 instant");
+                    if (!options.timestamp.equals("now") && !options.timestamp.equals("mtime")) {
+                        try {
+                            Instant.parse(options.timestamp);
+                        } catch (DateTimeParseException ex) {
+                            throw new IllegalArgumentException("--timestamp requires now, mtime or an ISO-8601 instant");
+                        }
+                    }
+                    break;
+                case "--incremental":
+                    options.incremental = true;
+                    break;
+                case "--manifest":
+                    options.manifest = new File(value(args, ++i, "a file"));
+                    options.incremental = true;
+                    break;
+                case "--output":
+                    options.output = new File(value(args, ++i, "a directory"));
+                    break;
+                case "--package-dirs":
+                    options.packageDirectories = true;
+                    break;
+                case "--watch":
+                    options.watch = true;
+                    break;
+                case "--debounce":
+                    try {
+                        options.debounce = Long.parseLong(value(args, ++i, "a number of milliseconds"));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("--debounce requires a number of milliseconds");
+                    }
+                    break;
+                case "--shared-tokens":
+                    options.sharedTokens = value(args, ++i, "a class name");
+                    break;
+                case "--registration":
+                    options.registration = value(args, ++i, "a class name");
+                    break;
+                default:
+                    options.files.add(new File(args[i]));
+            }
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int i, String expected) {
+        if (i == args.length) {
+            throw new IllegalArgumentException(String.format("%s requires %s", args[i - 1], expected));
+        }
+        return args[i];
+    }
+
+    public Instant date(File spec, Instant now) throws IOException {
+        switch (timestamp) {
+            case "now": return now;
+            case "mtime": return Files.getLastModifiedTime(spec.toPath()).toInstant();
+            default: return Instant.parse(timestamp);
+        }
+    }
+
+    //the newest of the specs' dates, since the batch classes are made from all of them
+    public Instant date(List<File> specs, Instant now) throws IOException {
+        Instant date = null;
+        for (File spec : specs) {
+            Instant instant = date(spec, now);
+            if (date == null || instant.isAfter(date)) {
+                date = instant;
+            }
+        }
+        return date == null ? now : date;
+    }
+
+    public boolean isReproducible() {
+        return !timestamp.equals("now");
+    }
+}
@@ -0,0 +1,30 @@
+package flavor.pie.generator.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class JavaBlock implements JavaMember {
+    final List<String> annotations = new ArrayList<>();
+    final String header;
+    final Code body = new Code();
+
+    //an empty header is an instance initializer
+    JavaBlock(String header) {
+        this.header = header;
+    }
+
+    static JavaBlock override(String header) {
+        JavaBlock block = new JavaBlock(header);
+        block.annotations.add("@Override");
+        return block;
+    }
+
+    @Override
+    public int estimateSize() {
+        int size = header.length() + 48 + body.estimateSize();
+        for (String annotation : annotations) {
+            size += annotation.length() + 24;
+        }
+        return size;
+    }
+}
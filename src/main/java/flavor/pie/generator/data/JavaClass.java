@@ -0,0 +1,50 @@
+package flavor.pie.generator.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class JavaClass implements JavaMember {
+    final List<String> annotations = new ArrayList<>();
+    final String header;
+    final List<JavaMember> members = new ArrayList<>();
+
+    JavaClass(String header) {
+        this.header = header;
+    }
+
+    JavaField field(String declaration) {
+        JavaField field = new JavaField(declaration);
+        members.add(field);
+        return field;
+    }
+
+    JavaBlock block(String header) {
+        JavaBlock block = new JavaBlock(header);
+        members.add(block);
+        return block;
+    }
+
+    JavaBlock override(String header) {
+        JavaBlock block = JavaBlock.override(header);
+        members.add(block);
+        return block;
+    }
+
+    JavaClass nested(String header) {
+        JavaClass nested = new JavaClass(header);
+        members.add(nested);
+        return nested;
+    }
+
+    @Override
+    public int estimateSize() {
+        int size = header.length() + 32;
+        for (String annotation : annotations) {
+            size += annotation.length() + 24;
+        }
+        for (JavaMember member : members) {
+            size += member.estimateSize();
+        }
+        return size;
+    }
+}
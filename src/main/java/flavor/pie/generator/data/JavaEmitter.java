@@ -0,0 +1,84 @@
+package flavor.pie.generator.data;
+
+import java.util.Arrays;
+
+class JavaEmitter {
+    private static final int MAX_DEPTH = 32;
+    private static final String[] INDENTS = new String[MAX_DEPTH];
+
+    static {
+        char[] spaces = new char[MAX_DEPTH * 4];
+        Arrays.fill(spaces, ' ');
+        for (int i = 0; i < MAX_DEPTH; i++) {
+            INDENTS[i] = new String(spaces, 0, i * 4);
+        }
+    }
+
+    private final String newline;
+    private StringBuilder out;
+
+    JavaEmitter(String newline) {
+        this.newline = newline;
+    }
+
+    String emit(JavaFile file) {
+        out = new StringBuilder(file.estimateSize());
+        if (file.packageName != null) {
+            out.append("package ").append(file.packageName).append(';').append(newline).append(newline);
+        }
+        for (String name : file.imports) {
+            out.append("import ").append(name).append(';').append(newline);
+        }
+        out.append(newline);
+        emit(file.type, 0);
+        return out.toString();
+    }
+
+    private void emit(JavaClass type, int depth) {
+        annotations(type.annotations, depth);
+        line(depth).append(type.header).append(" {").append(newline).append(newline);
+        for (int i = 0; i < type.members.size(); i++) {
+            JavaMember member = type.members.get(i);
+            if (member instanceof JavaField) {
+                line(depth + 1).append(((JavaField) member).declaration).append(newline);
+                //a group of fields is followed by a single blank line
+                if (i + 1 < type.members.size() && type.members.get(i + 1) instanceof JavaField) {
+                    continue;
+                }
+            } else if (member instanceof JavaBlock) {
+                emit((JavaBlock) member, depth + 1);
+            } else {
+                emit((JavaClass) member, depth + 1);
+            }
+            if (depth > 0 || i + 1 < type.members.size()) {
+                out.append(newline);
+            }
+        }
+        line(depth).append('}').append(newline);
+    }
+
+    private void emit(JavaBlock block, int depth) {
+        annotations(block.annotations, depth);
+        line(depth).append(block.header);
+        if (block.body.isEmpty()) {
+            out.append(" {}").append(newline);
+            return;
+        }
+        out.append(block.header.isEmpty() ? "{" : " {").append(newline);
+        Code body = block.body;
+        for (int i = 0; i < body.lines.size(); i++) {
+            line(depth + 1 + body.depths[i]).append(body.lines.get(i)).append(newline);
+        }
+        line(depth).append('}').append(newline);
+    }
+
+    private void annotations(Iterable<String> annotations, int depth) {
+        for (String annotation : annotations) {
+            line(depth).append(annotation).append(newline);
+        }
+    }
+
+    private StringBuilder line(int depth) {
+        return out.append(INDENTS[depth]);
+    }
+}
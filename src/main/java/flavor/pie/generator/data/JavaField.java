@@ -0,0 +1,14 @@
+package flavor.pie.generator.data;
+
+class JavaField implements JavaMember {
+    final String declaration;
+
+    JavaField(String declaration) {
+        this.declaration = declaration;
+    }
+
+    @Override
+    public int estimateSize() {
+        return declaration.length() + 24;
+    }
+}
@@ -0,0 +1,29 @@
+package flavor.pie.generator.data;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+class JavaFile {
+    final String packageName;
+    final Set<String> imports = new TreeSet<>();
+    final JavaClass type;
+
+    JavaFile(String packageName, JavaClass type) {
+        this.packageName = packageName;
+        this.type = type;
+    }
+
+    JavaFile imports(Collection<String> imports) {
+        this.imports.addAll(imports);
+        return this;
+    }
+
+    int estimateSize() {
+        int size = packageName == null ? 0 : packageName.length() + 16;
+        for (String name : imports) {
+            size += name.length() + 10;
+        }
+        return size + type.estimateSize();
+    }
+}
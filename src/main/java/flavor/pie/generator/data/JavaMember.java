@@ -0,0 +1,5 @@
+package flavor.pie.generator.data;
+
+interface JavaMember {
+    int estimateSize();
+}
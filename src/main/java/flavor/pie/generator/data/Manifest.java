@@ -0,0 +1,126 @@
+package flavor.pie.generator.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class Manifest {
+    private final File file;
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    private Manifest(File file) {
+        this.file = file;
+    }
+
+    public static Manifest load(File file) throws IOException {
+        Manifest manifest = new Manifest(file);
+        if (file.exists()) {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                int split = line.lastIndexOf('=');
+                if (split > 0) {
+                    manifest.hashes.put(line.substring(0, split), line.substring(split + 1));
+                }
+            }
+        }
+        return manifest;
+    }
+
+    public boolean isUpToDate(File spec, String hash, Collection<File> outputs) throws IOException {
+        if (!hash.equals(hashes.get(key(spec)))) {
+            return false;
+        }
+        //an output that was edited or replaced since it was generated has to be generated again
+        for (File output : outputs) {
+            String recorded = hashes.get(key(output));
+            if (recorded == null || !output.isFile() || !recorded.equals(digest(Files.readAllBytes(output.toPath())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void record(File spec, String hash, Map<File, String> outputs) {
+        hashes.put(key(spec), hash);
+        outputs.forEach((output, content) -> hashes.put(key(output), digest(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    public void save() throws IOException {
+        // sorted and without a date, so an unchanged manifest is not rewritten either
+        String content = hashes.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=" + e.getValue() + System.lineSeparator()).collect(Collectors.joining());
+        DataManipulatorGenerator.write(file, content);
+    }
+
+    private String key(File spec) {
+        Path base = file.getAbsoluteFile().toPath().getParent();
+        Path path = spec.getAbsoluteFile().toPath().normalize();
+        return (path.startsWith(base) ? base.relativize(path) : path).toString().replace(File.separatorChar, '/');
+    }
+
+    public static String hash(byte[] spec, Manipulator manipulator, Instant date) {
+        StringBuilder model = new StringBuilder(DataManipulatorGenerator.VERSION).append('\n');
+        if (date != null) {
+            model.append(date).append('\n');
+        }
+        fingerprint(manipulator, model);
+        return digest(spec, model.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String digest(byte[]... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void fingerprint(Object value, StringBuilder out) {
+        if (value == null || !value.getClass().getName().startsWith(Manipulator.class.getName())) {
+            if (value instanceof Collection) {
+                out.append('[');
+                ((Collection<?>) value).forEach(v -> fingerprint(v, out));
+                out.append(']');
+            } else {
+                out.append(value).append(';');
+            }
+            return;
+        }
+        // every field of the model, resolved ones included, in a stable order
+        Field[] fields = value.getClass().getDeclaredFields();
+        Arrays.sort(fields, Comparator.comparing(Field::getName));
+        out.append('{');
+        for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+            field.setAccessible(true);
+            out.append(field.getName()).append('=');
+            try {
+                fingerprint(field.get(value), out);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        out.append('}');
+    }
+}
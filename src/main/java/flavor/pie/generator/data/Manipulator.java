@@ -4,8 +4,11 @@ import com.google.common.reflect.TypeToken;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @ConfigSerializable
 public class Manipulator {
@@ -22,6 +25,32 @@ public class Manipulator {
     List<String> imports = Collections.EMPTY_LIST;
     @Setting("plugin-id")
     String pluginId;
+    @Setting("primitive-accessors")
+    boolean primitiveAccessors = false;
+    @Setting("cache-immutable-values")
+    boolean cacheImmutableValues = false;
+    @Setting("intern-immutables")
+    boolean internImmutables = false;
+    @Setting("dirty-tracking")
+    boolean dirtyTracking = false;
+    @Setting("binary-codec")
+    boolean binaryCodec = false;
+    @Setting
+    boolean concurrent = false;
+    @Setting
+    boolean metrics = false;
+    @Setting("lazy-keys")
+    boolean lazyKeys = false;
+    @Setting("primitive-collections")
+    boolean primitiveCollections = false;
+    @Setting
+    int version = 1;
+    @Setting
+    List<Migration> migrations = Collections.emptyList();
+    List<String> defaultImports = new ArrayList<>();
+    //the batch wide token holder, and the holder fields of the types it defines for this spec
+    String tokenHolder;
+    Map<String, String> tokens = new TreeMap<>();
 
     @ConfigSerializable
     public static class ManipulatorField {
@@ -39,6 +68,8 @@ public class Manipulator {
         boolean optional = false;
         @Setting
         String name;
+        @Setting
+        String merge;
         String boxedType;
         String uppercase;
         String nonGeneric;
@@ -46,6 +77,22 @@ public class Manipulator {
         String valueName;
         String innerValue;
         String nonGenericInnerValue;
+        String innerKey;
+        //the element type of a list or set stored as an array of it
+        String primitiveElement;
+    }
+
+    //what changed between version from and from + 1, by data query
+    @ConfigSerializable
+    public static class Migration {
+        @Setting
+        int from;
+        @Setting
+        Map<String, String> renames = Collections.emptyMap();
+        @Setting("type-changes")
+        Map<String, String> typeChanges = Collections.emptyMap();
+        @Setting
+        List<String> removals = Collections.emptyList();
     }
 
     @ConfigSerializable
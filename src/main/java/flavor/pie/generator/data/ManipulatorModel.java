@@ -0,0 +1,1105 @@
+package flavor.pie.generator.data;
+
+import com.google.common.collect.Lists;
+
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class ManipulatorModel {
+    private final Manipulator manipulator;
+    private final String classname;
+    private final String generated;
+    private final String arguments;
+    private final String parameters;
+    private final List<Manipulator.ManipulatorField> persistent;
+    private final BinaryCodec codec;
+
+    ManipulatorModel(Manipulator manipulator, Instant date) {
+        this.manipulator = manipulator;
+        this.classname = manipulator.classname;
+        this.generated = "@Generated(value = \"" + DataManipulatorGenerator.class.getName() + "\", date = \"" + date + "\")";
+        this.arguments = manipulator.fields.stream().map(f -> f.name).collect(Collectors.joining(", "));
+        this.parameters = manipulator.fields.stream().map(f -> stored(f) + " " + f.name).collect(Collectors.joining(", "));
+        this.persistent = manipulator.fields.stream().filter(f -> !f.isTransient).collect(Collectors.toList());
+        this.codec = manipulator.binaryCodec ? new BinaryCodec(manipulator, persistent) : null;
+    }
+
+    JavaFile manipulatorFile() {
+        List<String> imports = Lists.newArrayList("org.spongepowered.api.Sponge",
+                "org.spongepowered.api.data.DataContainer",
+                "org.spongepowered.api.data.DataHolder",
+                "org.spongepowered.api.data.DataQuery",
+                "org.spongepowered.api.data.DataView",
+                "org.spongepowered.api.data.manipulator.DataManipulatorBuilder",
+                "org.spongepowered.api.data.manipulator.immutable.common.AbstractImmutableData",
+                "org.spongepowered.api.data.manipulator.mutable.common.AbstractData",
+                "org.spongepowered.api.data.merge.MergeFunction",
+                "org.spongepowered.api.data.persistence.AbstractDataBuilder",
+                "org.spongepowered.api.data.persistence.InvalidDataException",
+                "java.util.Optional",
+                "javax.annotation.Generated");
+        if (manipulator.fields.stream().anyMatch(f -> f.optional)) {
+            imports.add("javax.annotation.Nullable");
+        }
+        if (manipulator.primitiveAccessors) {
+            imports.add("org.spongepowered.api.data.key.Key");
+            imports.add("org.spongepowered.api.data.value.BaseValue");
+        }
+        if (manipulator.lazyKeys) {
+            imports.add("org.spongepowered.api.data.key.Key");
+            imports.add("org.spongepowered.api.data.value.BaseValue");
+            imports.add("org.spongepowered.api.data.value.immutable.ImmutableValue");
+            imports.add("java.util.Set");
+        }
+        if (manipulator.dirtyTracking) {
+            imports.add("org.spongepowered.api.data.key.Key");
+            imports.add("java.util.HashSet");
+            imports.add("java.util.Set");
+            if (persistent.size() > 64) {
+                imports.add("java.util.Arrays");
+            }
+        }
+        if (manipulator.internImmutables) {
+            imports.add("com.google.common.collect.Interner");
+            imports.add("com.google.common.collect.Interners");
+        }
+        manipulator.fields.stream().filter(f -> f.primitiveElement == null).forEach(f -> {
+            switch (f.valueType) {
+                case LIST: imports.add("com.google.common.collect.ImmutableList"); break;
+                case SET: imports.add("com.google.common.collect.ImmutableSet"); break;
+                case MAP: imports.add("com.google.common.collect.ImmutableMap"); break;
+            }
+        });
+        if (equality().stream().anyMatch(f -> !DataManipulatorGenerator.primitives.contains(f.type) && f.primitiveElement == null)) {
+            imports.add("java.util.Objects");
+        }
+        arrays().forEach(f -> {
+            imports.add("com.google.common.primitives." + primitivesClass(f.primitiveElement));
+            imports.add("java.util.Collections");
+            if (f.valueType == DataManipulatorGenerator.ValueType.SET || equality().contains(f)) {
+                imports.add("java.util.Arrays");
+            }
+            if (f.valueType == DataManipulatorGenerator.ValueType.SET) {
+                imports.add("java.util.AbstractSet");
+                imports.add("java.util.Iterator");
+                imports.add("java.util.Set");
+            }
+        });
+        if (codec != null) {
+            codec.imports(imports);
+        }
+        if (manipulator.concurrent) {
+            imports.add("java.util.concurrent.atomic.AtomicReferenceFieldUpdater");
+        }
+        imports.add("java.util.function.Consumer");
+        imports.add("org.spongepowered.api.data.Queries");
+        persistent.stream().filter(f -> f.primitiveElement == null).forEach(f -> {
+            switch (f.valueType) {
+                case LIST: imports.add("java.util.ArrayList"); break;
+                case SET: imports.add("java.util.LinkedHashSet"); break;
+                case MAP: imports.add("java.util.LinkedHashMap"); break;
+            }
+        });
+        if (manipulator.fields.stream().anyMatch(f -> f.merge != null)) {
+            imports.add("javax.annotation.Nullable");
+            imports.add("org.spongepowered.api.data.value.ValueContainer");
+        }
+        if (manipulator.metrics) {
+            imports.add("flavor.pie.generator.metrics.ManipulatorMetrics");
+            imports.add("flavor.pie.generator.metrics.Operation");
+        }
+        if (manipulator.version > 1) {
+            imports.add("org.spongepowered.api.data.DataManager");
+            imports.add("org.spongepowered.api.data.Queries");
+            imports.add("org.spongepowered.api.data.persistence.DataContentUpdater");
+            imports.add("org.spongepowered.api.util.Coerce");
+        }
+        imports.addAll(manipulator.defaultImports);
+        imports.addAll(valueImports(manipulator));
+        manipulator.fields.forEach(f -> {
+            imports.add(f.valueType.getMutableType());
+            imports.add(f.valueType.getImmutableType());
+        });
+        imports.addAll(manipulator.imports);
+
+        JavaClass type = new JavaClass("public class " + classname + " extends AbstractData<" + classname + ", " + classname + ".Immutable>");
+        type.annotations.add(generated);
+        //lazy keys are only created once they are used, which reading a query should not count as
+        manipulator.fields.stream().filter(f -> !f.isTransient).forEach(f -> type.field("private static final DataQuery " + query(f) + " = "
+                + (manipulator.lazyKeys ? query(f.key.dataQuery) : f.key.fullName + ".getQuery()") + ";"));
+        if (manipulator.fields.stream().anyMatch(f -> f.merge != null)) {
+            type.field("public static final MergeFunction MERGE_FIELDS = new FieldMerge();");
+        }
+        arrays().stream().filter(f -> empty(f.primitiveElement).equals(storedDefault(f))).map(f -> f.primitiveElement).distinct()
+                .forEach(element -> type.field("private static final " + element + "[] " + empty(element) + " = {};"));
+        if (manipulator.metrics) {
+            type.field("private static final ManipulatorMetrics METRICS = ManipulatorMetrics.of(" + classname + ".class);");
+        }
+        if (manipulator.concurrent) {
+            //all fields are swapped at once, so readers see a consistent state without locking
+            type.field("private static final AtomicReferenceFieldUpdater<" + classname + ", Immutable> STATE = "
+                    + "AtomicReferenceFieldUpdater.newUpdater(" + classname + ".class, Immutable.class, \"state\");");
+            type.field("private volatile Immutable state;");
+        } else {
+            fields(type);
+        }
+        if (manipulator.dirtyTracking) {
+            //nothing has been saved from a new instance yet, so all of its fields count as changed
+            if (persistent.size() > 64) {
+                type.field("private static final long[] ALL_DIRTY = {" + String.join(", ", allDirty()) + "};");
+                type.field("private final long[] dirtyFields = ALL_DIRTY.clone();");
+            } else {
+                type.field("private static final long ALL_DIRTY = " + allDirty().get(0) + ";");
+                type.field("private long dirtyFields = ALL_DIRTY;");
+            }
+        }
+        registration(type, "registerGettersAndSetters", true);
+        constructors(type, classname);
+        registerGettersAndSetters(type);
+        accessors(type);
+        primitiveAccessors(type, true);
+        fill(type);
+        from(type, imports);
+        reset(type);
+        Code copy = type.override("public " + classname + " copy()").body;
+        Code asImmutable = type.override("public Immutable asImmutable()").body;
+        if (manipulator.concurrent) {
+            copy.add("return new " + classname + "(state);");
+            asImmutable.add("return " + (manipulator.internImmutables ? "Immutable.interner.intern(state)" : "state") + ";");
+        } else {
+            if (manipulator.dirtyTracking) {
+                //a copy has changed exactly as much as the original
+                String copied = local("copy");
+                copy.add(classname + " " + copied + " = new " + classname + "(" + arguments + ");");
+                copy.add(persistent.size() > 64 ? "System.arraycopy(dirtyFields, 0, " + copied + ".dirtyFields, 0, dirtyFields.length);"
+                        : copied + ".dirtyFields = dirtyFields;");
+                copy.add("return " + copied + ";");
+            } else {
+                copy.add("return new " + classname + "(" + arguments + ");");
+            }
+            asImmutable.add("return " + (manipulator.internImmutables ? "Immutable.interner.intern(new Immutable(" + arguments + "))"
+                    : "new Immutable(" + arguments + ")") + ";");
+        }
+        instrument(copy, "COPY");
+        instrument(asImmutable, "AS_IMMUTABLE");
+        type.override("public int getContentVersion()").body.add("return " + manipulator.version + ";");
+        if (manipulator.concurrent) {
+            instrument(type.override("public DataContainer toContainer()").body.add("return state.toContainer();"), "TO_CONTAINER");
+        } else {
+            instrument(toContainer(type), "TO_CONTAINER");
+        }
+        dirtyTracking(type);
+        Code snapshot = type.block("public Snapshot snapshot()").body;
+        if (manipulator.concurrent) {
+            snapshot.add("Immutable current = state;");
+        }
+        snapshot.add("return new Snapshot(" + persistent.stream().map(f -> copy(f, (manipulator.concurrent ? "current." : "") + f.name))
+                .collect(Collectors.joining(", ")) + ");");
+        equals(type, classname, persistent, null);
+        hashCode(type, persistent, null);
+        if (codec != null) {
+            codec.mutable(type, classname, manipulator.concurrent ? snapshot(null, null) : null,
+                    manipulator.concurrent ? rebuilt("next", "current") : null);
+            codec.helpers(type);
+        }
+        arrayHelpers(type);
+        if (manipulator.version > 1) {
+            Code register = type.block("public static void registerContentUpdaters(DataManager manager)").body;
+            register.open("for (int version = 1; version < " + manipulator.version + "; version++)")
+                    .add("manager.registerContentUpdater(" + classname + ".class, new ContentUpdater(version));").close();
+        }
+        type.members.add(immutableClass());
+        type.members.add(builderClass());
+        type.members.add(snapshotClass());
+        if (manipulator.version > 1) {
+            type.members.add(contentUpdaterClass());
+        }
+        if (manipulator.fields.stream().anyMatch(f -> f.merge != null)) {
+            type.members.add(fieldMergeClass());
+        }
+        return new JavaFile(manipulator.packagename, type).imports(imports);
+    }
+
+    private static List<String> valueImports(Manipulator manipulator) {
+        return manipulator.fields.stream().filter(f -> !f.type.equals(f.fullType)).map(f -> f.type)
+                .filter(t -> !DataManipulatorGenerator.primitives.contains(t)).filter(t -> !t.startsWith("java.lang"))
+                .collect(Collectors.toList());
+    }
+
+    private void fields(JavaClass type) {
+        manipulator.fields.forEach(f -> type.field("private " + stored(f) + " " + f.name + ";"));
+    }
+
+    private void constructors(JavaClass type, String name) {
+        if (manipulator.concurrent && !name.equals("Immutable")) {
+            type.block(name + "()").body.add("state = " + defaults() + ";");
+            type.block(name + "(" + parameters + ")").body.add("state = new Immutable(" + arguments + ");");
+            type.block("private " + name + "(Immutable state)").body.add("this.state = state;");
+            return;
+        }
+        Code defaults = type.block(name + "()").body;
+        manipulator.fields.stream().filter(f -> f.defaultValue != null).forEach(f ->
+                defaults.add(f.name + " = " + storedDefault(f) + ";"));
+        Code full = type.block(name + "(" + parameters + ")").body;
+        manipulator.fields.forEach(f -> full.add("this." + f.name + " = " + value(f, name) + ";"));
+    }
+
+    //times the body for the metrics, however it finishes
+    private void instrument(Code body, String operation) {
+        if (manipulator.metrics) {
+            String start = local("start");
+            body.tryFinally("long " + start + " = System.nanoTime();", "METRICS.record(Operation." + operation + ", " + start + ");");
+        }
+    }
+
+    //the bodies use fields unqualified, so a local must not hide one
+    private String local(String name) {
+        Set<String> names = manipulator.fields.stream().map(f -> f.name).collect(Collectors.toSet());
+        while (names.contains(name)) {
+            name = "_" + name;
+        }
+        return name;
+    }
+
+    private static String defaultValue(Manipulator.ManipulatorField f) {
+        if (f.defaultValue == null) {
+            //an optional primitive is still stored as one, so it goes back to zero like a new field does
+            if (DataManipulatorGenerator.primitives.contains(f.type)) {
+                return f.type.equals("Z") ? "false" : "(" + f.fullType + ") 0";
+            }
+            return "null";
+        }
+        //an int constant only narrows in an assignment, not as an argument
+        return f.type.equals("S") || f.type.equals("B") ? "(" + f.fullType + ") " + f.defaultValue : storedDefault(f);
+    }
+
+    private static String storedDefault(Manipulator.ManipulatorField f) {
+        if (f.primitiveElement == null || f.defaultValue == null) {
+            return f.defaultValue;
+        }
+        //the empty default is shared, the arrays are never changed
+        return f.defaultValue.matches("Collections\\.empty(List|Set)\\(\\)") ? empty(f.primitiveElement) : store(f, f.defaultValue);
+    }
+
+    private static String empty(String element) {
+        return "EMPTY_" + element.toUpperCase() + "S";
+    }
+
+    //a list or set of primitives can be kept as an array, which is replaced instead of changed, so instances can share it
+    private static String stored(Manipulator.ManipulatorField f) {
+        return f.primitiveElement == null ? f.fullType : f.primitiveElement + "[]";
+    }
+
+    //Ints, Longs and so on
+    private static String primitivesClass(String element) {
+        return Character.toUpperCase(element.charAt(0)) + element.substring(1) + "s";
+    }
+
+    //a read only collection over the array, nothing is boxed until it is read
+    private static String view(Manipulator.ManipulatorField f, String array) {
+        if (f.primitiveElement == null) {
+            return array;
+        }
+        String list = primitivesClass(f.primitiveElement) + ".asList(" + array + ")";
+        return f.valueType == DataManipulatorGenerator.ValueType.SET ? "setView(" + list + ", " + f.innerValue + ".class)"
+                : "Collections.unmodifiableList(" + list + ")";
+    }
+
+    private static String store(Manipulator.ManipulatorField f, String collection) {
+        if (f.primitiveElement == null) {
+            return collection;
+        }
+        String array = primitivesClass(f.primitiveElement) + ".toArray(" + collection + ")";
+        return f.valueType == DataManipulatorGenerator.ValueType.SET ? "distinct(" + array + ")" : array;
+    }
+
+    private List<Manipulator.ManipulatorField> arrays() {
+        return manipulator.fields.stream().filter(f -> f.primitiveElement != null).collect(Collectors.toList());
+    }
+
+    private void arrayHelpers(JavaClass type) {
+        List<String> sets = arrays().stream().filter(f -> f.valueType == DataManipulatorGenerator.ValueType.SET).map(f -> f.primitiveElement)
+                .distinct().collect(Collectors.toList());
+        if (sets.isEmpty()) {
+            return;
+        }
+        //a set is kept sorted, so finding an element is a binary search
+        type.block("private static <E extends Comparable<? super E>> Set<E> setView(List<E> sorted, Class<E> type)").body
+                .open("return new AbstractSet<E>()")
+                .add("@Override").open("public Iterator<E> iterator()").add("return sorted.iterator();").close()
+                .add("@Override").open("public int size()").add("return sorted.size();").close()
+                .add("@Override").open("public boolean contains(Object o)")
+                .add("return type.isInstance(o) && Collections.binarySearch(sorted, type.cast(o)) >= 0;").close()
+                .close(";");
+        sets.forEach(element -> {
+            //the same order as the boxed compareTo, which the view searches with
+            String different = element.equals("double") || element.equals("float")
+                    ? (element.equals("double") ? "Double" : "Float") + ".compare(elements[size - 1], element) != 0"
+                    : "elements[size - 1] != element";
+            type.block("private static " + element + "[] distinct(" + element + "[] elements)").body
+                    .add("Arrays.sort(elements);")
+                    .add("int size = 0;")
+                    .open("for (" + element + " element : elements)")
+                    .open("if (size == 0 || " + different + ")").add("elements[size++] = element;").close()
+                    .close()
+                    .add("return size == elements.length ? elements : Arrays.copyOf(elements, size);");
+        });
+    }
+
+    private String defaults() {
+        return "new Immutable(" + manipulator.fields.stream().map(ManipulatorModel::defaultValue).collect(Collectors.joining(", ")) + ")";
+    }
+
+    //a new snapshot of the persistent fields of one state and the transient ones of another
+    String rebuilt(String persistent, String transients) {
+        return "new Immutable(" + manipulator.fields.stream().map(f -> (f.isTransient ? transients : persistent) + "." + f.name)
+                .collect(Collectors.joining(", ")) + ")";
+    }
+
+    private boolean hasCollections() {
+        return manipulator.fields.stream().anyMatch(f -> f.primitiveElement == null && (f.valueType == DataManipulatorGenerator.ValueType.LIST
+                || f.valueType == DataManipulatorGenerator.ValueType.SET || f.valueType == DataManipulatorGenerator.ValueType.MAP));
+    }
+
+    //a copy of the current state, with the given field replaced
+    private String snapshot(String name, String value) {
+        return "new Immutable(" + manipulator.fields.stream().map(f -> f.name.equals(name) ? value : "current." + f.name)
+                .collect(Collectors.joining(", ")) + ")";
+    }
+
+    //where the mutable class keeps a field
+    private String field(Manipulator.ManipulatorField f) {
+        return manipulator.concurrent ? "state." + f.name : f.name;
+    }
+
+    //where from() puts what it reads, which is only published at the end in concurrent mode
+    private String target(Manipulator.ManipulatorField f) {
+        return (manipulator.concurrent ? "next." : "this.") + f.name;
+    }
+
+    private String value(Manipulator.ManipulatorField f, String name) {
+        //an immutable caches its hash and may be interned or shared as a snapshot,
+        //so it must not see changes to the collections it was made from
+        if (name.equals("Immutable") && f.primitiveElement == null) {
+            switch (f.valueType) {
+                case LIST: return "ImmutableList.copyOf(" + f.name + ")";
+                case SET: return "ImmutableSet.copyOf(" + f.name + ")";
+                case MAP: return "ImmutableMap.copyOf(" + f.name + ")";
+            }
+        }
+        return f.name;
+    }
+
+    //registering refers to every key, so with lazy keys it waits until something asks for a value by key
+    private void registration(JavaClass type, String register, boolean mutable) {
+        if (!manipulator.lazyKeys) {
+            type.block("").body.add(register + "();");
+            return;
+        }
+        String registered = local("registered");
+        String ensure = local("registerKeys");
+        String self = mutable ? classname : "Immutable";
+        type.field("private volatile boolean " + registered + ";");
+        //immutables are shared between threads, so only one of them may fill the maps
+        type.block("private void " + ensure + "()").body.open("if (!" + registered + ")").open("synchronized (this)")
+                .open("if (!" + registered + ")").add(register + "();").add(registered + " = true;").close().close().close();
+        if (mutable) {
+            type.override("public <E> " + self + " set(Key<? extends BaseValue<E>> key, E value)").body.add(ensure + "();")
+                    .add("return super.set(key, value);");
+        } else {
+            type.override("public <E> Optional<" + self + "> with(Key<? extends BaseValue<E>> key, E value)").body.add(ensure + "();")
+                    .add("return super.with(key, value);");
+        }
+        type.override("public <E> Optional<E> get(Key<? extends BaseValue<E>> key)").body.add(ensure + "();")
+                .add("return super.get(key);");
+        type.override("public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key)").body.add(ensure + "();")
+                .add("return super.getValue(key);");
+        type.override("public boolean supports(Key<?> key)").body.add(ensure + "();").add("return super.supports(key);");
+        type.override("public Set<Key<?>> getKeys()").body.add(ensure + "();").add("return super.getKeys();");
+        type.override("public Set<ImmutableValue<?>> getValues()").body.add(ensure + "();").add("return super.getValues();");
+    }
+
+    private void registerGettersAndSetters(JavaClass type) {
+        Code body = type.override("protected void registerGettersAndSetters()").body;
+        manipulator.fields.forEach(f -> {
+            body.add("registerFieldGetter(" + f.key.fullName + ", this::" + getter(f) + ");");
+            if (f.optional) {
+                body.add("registerFieldSetter(" + f.key.fullName + ", v -> set" + f.uppercase + "(v.get()));");
+            } else {
+                body.add("registerFieldSetter(" + f.key.fullName + ", this::set" + f.uppercase + ");");
+            }
+            body.add("registerKeyValue(" + f.key.fullName + ", this::" + f.name + ");");
+        });
+    }
+
+    private void accessors(JavaClass type) {
+        manipulator.fields.forEach(f -> {
+            getter(type, f, field(f));
+            Code setter = type.block("public void set" + f.uppercase + "(" + (f.optional ? "@Nullable " : "") + f.fullType + " "
+                    + f.name + ")").body;
+            if (manipulator.concurrent) {
+                String value = f.name;
+                if (f.primitiveElement != null) {
+                    value = local("stored");
+                    setter.add(stored(f) + " " + value + " = " + store(f, f.name) + ";");
+                }
+                setter.add("Immutable current;");
+                setter.open("do").add("current = state;").close(" while (!STATE.compareAndSet(this, current, " + snapshot(f.name, value) + "));");
+            } else {
+                setter.add("this." + f.name + " = " + store(f, f.name) + ";");
+            }
+            if (manipulator.dirtyTracking && !f.isTransient) {
+                setter.add(mark(f));
+            }
+            type.block("public " + f.valueName + " " + f.name + "()").body.add("return Sponge.getRegistry().getValueFactory().create"
+                    + f.valueType.getMutableName() + "(" + f.key.fullName + ", " + view(f, field(f)) + ");");
+        });
+    }
+
+    private void getter(JavaClass type, Manipulator.ManipulatorField f, String value) {
+        type.block("public " + (f.optional ? "Optional<" + f.boxedType + ">" : f.fullType) + " " + getter(f) + "()")
+                .body.add("return " + (f.optional ? "Optional.ofNullable(" + value + ")" : view(f, value)) + ";");
+    }
+
+    //key based access to primitive fields without the Optional and boxing of get(Key)
+    private void primitiveAccessors(JavaClass type, boolean mutable) {
+        if (!manipulator.primitiveAccessors) {
+            return;
+        }
+        manipulator.fields.stream().filter(f -> DataManipulatorGenerator.primitives.contains(f.type) && !f.optional)
+                .collect(Collectors.groupingBy(f -> f.fullType, LinkedHashMap::new, Collectors.toList())).forEach((primitive, fields) -> {
+            String suffix = Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+            String key = "Key<? extends BaseValue<" + fields.get(0).boxedType + ">> key";
+            String unsupported = "throw new IllegalArgumentException(\"" + classname + " has no " + primitive + " value for \" + key);";
+            Code get = type.block("public " + primitive + " get" + suffix + "(" + key + ")").body;
+            fields.forEach(f -> get.open("if (key == " + f.key.fullName + ")").add("return " + (mutable ? field(f) : f.name) + ";").close());
+            get.add(unsupported);
+            if (mutable) {
+                Code set = type.block("public " + classname + " set" + suffix + "(" + key + ", " + primitive + " value)").body;
+                fields.forEach(f -> set.open("if (key == " + f.key.fullName + ")").add("set" + f.uppercase + "(value);")
+                        .add("return this;").close());
+                set.add(unsupported);
+            }
+        });
+    }
+
+    private static String getter(Manipulator.ManipulatorField f) {
+        return (f.type.equals("Z") ? "is" : "get") + f.uppercase;
+    }
+
+    private void fill(JavaClass type) {
+        boolean merge = manipulator.fields.stream().anyMatch(f -> f.merge != null);
+        if (merge) {
+            mergeFields(type);
+        }
+        Code body = type.override("public Optional<" + classname + "> fill(DataHolder dataHolder, MergeFunction overlap)").body;
+        String other = local("other");
+        String data = local("data");
+        //the built in functions keep one side whole, so neither needs the merge call or a merged copy
+        body.open("if (overlap == MergeFunction.IGNORE_ALL)").add("return Optional.of(this);").close();
+        body.add("Optional<" + classname + "> " + other + " = dataHolder.get(" + classname + ".class);");
+        body.open("if (" + other + ".isPresent())");
+        if (merge) {
+            body.open("if (overlap == MERGE_FIELDS)").add("return Optional.of(mergeFields(" + other + ".get()));").close();
+        }
+        if (manipulator.concurrent) {
+            //merged with a copy of the state it replaces, so a setter in between is not lost
+            String current = local("current");
+            body.add("Immutable " + current + ";");
+            body.add(classname + " " + data + ";");
+            body.open("do").add(current + " = state;").add(data + " = overlap == MergeFunction.FORCE_NOTHING ? " + other
+                    + ".get() : overlap.merge(new " + classname + "(" + current + "), " + other + ".get());")
+                    .close(" while (!STATE.compareAndSet(this, " + current + ", " + data + ".state));");
+        } else {
+            body.add(classname + " " + data + " = overlap == MergeFunction.FORCE_NOTHING ? " + other + ".get() : overlap.merge(this, "
+                    + other + ".get());");
+        }
+        manipulator.fields.stream().filter(f -> !manipulator.concurrent).forEach(f -> {
+            if (manipulator.dirtyTracking && !f.isTransient) {
+                //a different instance is enough to count as a change, equals could be expensive
+                body.open("if (" + f.name + " != " + data + "." + f.name + ")").add("this." + f.name + " = " + data + "." + f.name + ";")
+                        .add(mark(f)).close();
+            } else {
+                body.add("this." + f.name + " = " + data + "." + f.name + ";");
+            }
+        });
+        body.close();
+        body.add("return Optional.of(this);");
+        instrument(body, "FILL");
+    }
+
+    //keeps, replaces or combines each field as its merge setting says, in place
+    private void mergeFields(JavaClass type) {
+        String that = local("that");
+        Code body = type.block("private " + classname + " mergeFields(" + classname + " " + that + ")").body;
+        if (manipulator.concurrent) {
+            body.add("Immutable other = " + that + ".state;");
+            body.add("Immutable current;");
+            body.open("do").add("current = state;").close(" while (!STATE.compareAndSet(this, current, new Immutable("
+                    + manipulator.fields.stream().map(f -> merged(f, "current." + f.name, "other." + f.name))
+                    .collect(Collectors.joining(", ")) + ")));");
+        }
+        manipulator.fields.stream().filter(f -> !manipulator.concurrent && !"keep".equals(f.merge)).forEach(f -> {
+            String merged = merged(f, "this." + f.name, that + "." + f.name);
+            if (manipulator.dirtyTracking && !f.isTransient) {
+                //the local is named after the field, which is only used qualified here
+                body.add(stored(f) + " " + f.name + " = " + merged + ";");
+                body.open("if (this." + f.name + " != " + f.name + ")").add("this." + f.name + " = " + f.name + ";").add(mark(f)).close();
+            } else {
+                body.add("this." + f.name + " = " + merged + ";");
+            }
+        });
+        body.add("return this;");
+        manipulator.fields.stream().filter(f -> f.merge != null && !f.merge.equals("keep") && !f.merge.equals("replace")).forEach(f ->
+                type.block("private static " + f.fullType + " merge" + f.uppercase + "(" + f.fullType + " original, " + f.fullType
+                        + " replacement)").body.add("return " + f.merge + ";"));
+    }
+
+    private static String merged(Manipulator.ManipulatorField f, String original, String replacement) {
+        if (f.merge == null || f.merge.equals("replace")) {
+            return replacement;
+        }
+        return f.merge.equals("keep") ? original
+                : store(f, "merge" + f.uppercase + "(" + view(f, original) + ", " + view(f, replacement) + ")");
+    }
+
+    private JavaClass fieldMergeClass() {
+        JavaClass type = new JavaClass("private static class FieldMerge implements MergeFunction");
+        JavaBlock merge = type.override("public <C extends ValueContainer<?>> C merge(@Nullable C original, @Nullable C replacement)");
+        merge.annotations.add("@SuppressWarnings(\"unchecked\")");
+        merge.body.open("if (original instanceof " + classname + " && replacement instanceof " + classname + ")")
+                .add("return (C) ((" + classname + ") original).copy().mergeFields((" + classname + ") replacement);").close()
+                .add("return replacement == null ? original : replacement;");
+        return type;
+    }
+
+    //one lookup per field in a single map of the container's values, without an Optional or a lambda per field
+    private void from(JavaClass type, List<String> imports) {
+        type.override("public Optional<" + classname + "> from(DataContainer container)").body.add("return from((DataView) container);");
+        Code body = type.block("public Optional<" + classname + "> from(DataView container)").body;
+        List<Manipulator.ManipulatorField> fields = manipulator.fields.stream().filter(f -> !f.isTransient).collect(Collectors.toList());
+        //the translators have to read the migrated content as well
+        String source = manipulator.version > 1 ? "view" : "container";
+        if (!fields.isEmpty()) {
+            imports.add("java.util.Map");
+            //nested queries are only in the deep values
+            boolean deep = fields.stream().anyMatch(f -> f.key.dataQuery.contains("."));
+            if (manipulator.version > 1) {
+                body.add("DataView view = container;");
+            }
+            body.add("Map<DataQuery, Object> content = container.getValues(" + deep + ");");
+            body.add("Object value;");
+            if (manipulator.version > 1) {
+                body.add("value = content.get(Queries.CONTENT_VERSION);");
+                //older data is migrated as it is read, what is stored is only rewritten when it is saved again
+                body.open("if (value != null && Coerce.toInteger(value) < " + manipulator.version + ")")
+                        .add("view = new ContentUpdater(Coerce.toInteger(value)).update(container.copy());")
+                        .add("content = view.getValues(" + deep + ");").close();
+            }
+            if (manipulator.concurrent) {
+                //read again from the newer state if a setter got in first, fields the container lacks keep its values
+                body.add("Immutable current;");
+                body.add("Immutable next;");
+                body.open("do").add("current = state;").add("next = " + snapshot(null, null) + ";");
+            }
+        }
+        fields.forEach(f -> {
+            String query = query(f);
+            body.add("value = content.get(" + query + ");");
+            switch (f.valueType) {
+                case LIST:
+                case SET:
+                    collection(body, f, query, source, imports);
+                    break;
+                case MAP:
+                    map(body, f, imports);
+                    break;
+                default:
+                    String coerced = coerce(f.boxedType, "value", imports);
+                    if (coerced != null) {
+                        body.open("if (value != null)").add(target(f) + " = " + coerced + ";").close();
+                    } else {
+                        //values that are not stored as they are need the container's translators
+                        body.open("if (value instanceof " + f.nonGeneric + ")").add(target(f) + " = (" + f.boxedType + ") value;");
+                        body.next("else if (value != null)").add(target(f) + " = " + source + ".getObject(" + query + ", "
+                                + f.nonGeneric + ".class).orElse(" + target(f) + ");").close();
+                    }
+            }
+        });
+        if (manipulator.concurrent && !fields.isEmpty()) {
+            //the constructor copies the collections that were read, next itself is never published
+            body.close(" while (!STATE.compareAndSet(this, current, " + (hasCollections() ? rebuilt("next", "next") : "next") + "));");
+        }
+        if (manipulator.dirtyTracking) {
+            //the instance now matches the container it was read from
+            body.add(persistent.size() > 64 ? "Arrays.fill(dirtyFields, 0);" : "dirtyFields = 0;");
+        }
+        body.add("return Optional.of(this);");
+        instrument(body, "FROM");
+    }
+
+    //back to the state of a new instance, so bulk reads can decode into one instance instead of allocating one per container
+    private void reset(JavaClass type) {
+        Code body = type.block("public " + classname + " reset()").body;
+        if (manipulator.concurrent) {
+            body.add("state = " + defaults() + ";");
+        } else {
+            manipulator.fields.forEach(f -> body.add(f.name + " = " + defaultValue(f) + ";"));
+        }
+        if (manipulator.dirtyTracking) {
+            body.add(persistent.size() > 64 ? "System.arraycopy(ALL_DIRTY, 0, dirtyFields, 0, dirtyFields.length);"
+                    : "dirtyFields = ALL_DIRTY;");
+        }
+        body.add("return this;");
+    }
+
+    private void collection(Code body, Manipulator.ManipulatorField f, String query, String source, List<String> imports) {
+        boolean set = f.valueType == DataManipulatorGenerator.ValueType.SET;
+        String coerced = coerce(f.innerValue, "element", imports);
+        body.open("if (value != null)");
+        if (f.primitiveElement != null) {
+            //straight into the array, the container's elements are the only boxes
+            body.add("List<?> list = Coerce.toList(value);");
+            body.add(stored(f) + " elements = new " + f.primitiveElement + "[list.size()];");
+            body.open("for (int i = 0; i < elements.length; i++)").add("elements[i] = " + coerce(f.innerValue, "list.get(i)", imports) + ";")
+                    .close();
+            body.add(target(f) + " = " + (set ? "distinct(elements)" : "elements") + ";");
+        } else if (coerced != null) {
+            imports.add("org.spongepowered.api.util.Coerce");
+            body.add("List<?> list = Coerce.toList(value);");
+            if (set) {
+                imports.add("com.google.common.collect.Sets");
+                body.add(f.fullType + " elements = Sets.newHashSetWithExpectedSize(list.size());");
+            } else {
+                imports.add("java.util.ArrayList");
+                body.add(f.fullType + " elements = new ArrayList<>(list.size());");
+            }
+            body.open("for (Object element : list)").add("elements.add(" + coerced + ");").close();
+            body.add(target(f) + " = elements;");
+        } else if (set) {
+            imports.add("java.util.HashSet");
+            body.add("List<" + f.innerValue + "> elements = " + source + ".getObjectList(" + query + ", " + f.nonGenericInnerValue
+                    + ".class).orElse(null);");
+            body.open("if (elements != null)").add(target(f) + " = new HashSet<>(elements);").close();
+        } else {
+            body.add(target(f) + " = " + source + ".getObjectList(" + query + ", " + f.nonGenericInnerValue + ".class).orElse("
+                    + target(f) + ");");
+        }
+        body.close();
+        imports.add("java.util.List");
+    }
+
+    private void map(Code body, Manipulator.ManipulatorField f, List<String> imports) {
+        imports.add("com.google.common.collect.Maps");
+        body.open("if (value instanceof DataView || value instanceof Map)");
+        body.add("Map<?, ?> map = value instanceof DataView ? ((DataView) value).getValues(false) : (Map<?, ?>) value;");
+        body.add(f.fullType + " entries = Maps.newHashMapWithExpectedSize(map.size());");
+        body.open("for (Map.Entry<?, ?> entry : map.entrySet())");
+        //a map stored as a view has its keys as queries
+        body.add("Object key = entry.getKey() instanceof DataQuery ? ((DataQuery) entry.getKey()).asString('.') : entry.getKey();");
+        String key = coerce(f.innerKey, "key", imports);
+        String value = coerce(f.innerValue, "entry.getValue()", imports);
+        List<String> conditions = new ArrayList<>();
+        if (key == null) {
+            conditions.add("key instanceof " + f.innerKey.replaceFirst("<.*", ""));
+            key = "(" + f.innerKey + ") key";
+        }
+        if (value == null) {
+            conditions.add("entry.getValue() instanceof " + f.nonGenericInnerValue);
+            value = "(" + f.innerValue + ") entry.getValue()";
+        }
+        if (conditions.isEmpty()) {
+            body.add("entries.put(" + key + ", " + value + ");");
+        } else {
+            body.open("if (" + String.join(" && ", conditions) + ")").add("entries.put(" + key + ", " + value + ");").close();
+        }
+        body.close();
+        body.add(target(f) + " = entries;");
+        body.close();
+    }
+
+    private static String coerce(String type, String value, List<String> imports) {
+        String coerced;
+        switch (type) {
+            case "Integer": coerced = "Coerce.toInteger(" + value + ")"; break;
+            case "Boolean": coerced = "Coerce.toBoolean(" + value + ")"; break;
+            case "Double": coerced = "Coerce.toDouble(" + value + ")"; break;
+            case "Float": coerced = "Coerce.toFloat(" + value + ")"; break;
+            case "Long": coerced = "Coerce.toLong(" + value + ")"; break;
+            case "Short": coerced = "Coerce.toShort(" + value + ")"; break;
+            case "Byte": coerced = "Coerce.toByte(" + value + ")"; break;
+            case "Character": coerced = "Coerce.toChar(" + value + ")"; break;
+            case "String": return value + ".toString()";
+            default: return null;
+        }
+        imports.add("org.spongepowered.api.util.Coerce");
+        return coerced;
+    }
+
+    private static String query(Manipulator.ManipulatorField f) {
+        return f.key.name + "_QUERY";
+    }
+
+    private Code toContainer(JavaClass type) {
+        Code body = type.override("public DataContainer toContainer()").body;
+        body.add("return super.toContainer()");
+        manipulator.fields.stream().filter(f -> !f.isTransient).forEach(f ->
+                body.continued(".set(" + query(f) + ", " + view(f, f.name) + ")"));
+        return body.append(";");
+    }
+
+    //only the collections can change under a snapshot, primitive arrays are replaced rather than written to
+    private static String copy(Manipulator.ManipulatorField f, String value) {
+        if (f.primitiveElement != null) {
+            return value;
+        }
+        switch (f.valueType) {
+            case LIST: return "new ArrayList<>(" + value + ")";
+            case SET: return "new LinkedHashSet<>(" + value + ")";
+            case MAP: return "new LinkedHashMap<>(" + value + ")";
+            default: return value;
+        }
+    }
+
+    //the persistent fields as they were, so a save thread can build the container while the data changes
+    private JavaClass snapshotClass() {
+        JavaClass type = new JavaClass("public static final class Snapshot");
+        type.annotations.add(generated);
+        persistent.forEach(f -> type.field("private final " + stored(f) + " " + f.name + ";"));
+        Code constructor = type.block("private Snapshot(" + persistent.stream().map(f -> stored(f) + " " + f.name)
+                .collect(Collectors.joining(", ")) + ")").body;
+        persistent.forEach(f -> constructor.add("this." + f.name + " = " + f.name + ";"));
+        Code write = type.block("public DataContainer writeTo(DataContainer container)").body;
+        write.add("return container.set(Queries.CONTENT_VERSION, " + manipulator.version + ")");
+        persistent.forEach(f -> write.continued(".set(" + query(f) + ", " + view(f, f.name) + ")"));
+        write.append(";");
+        return type;
+    }
+
+    private void dirtyTracking(JavaClass type) {
+        if (!manipulator.dirtyTracking) {
+            return;
+        }
+        Code dirty = type.block("public boolean isDirty()").body;
+        if (persistent.size() > 64) {
+            dirty.open("for (long word : dirtyFields)").open("if (word != 0)").add("return true;").close().close();
+            dirty.add("return false;");
+        } else {
+            dirty.add("return dirtyFields != 0;");
+        }
+        Code keys = type.block("public Set<Key<?>> changedKeys()").body;
+        keys.add("Set<Key<?>> keys = new HashSet<>();");
+        persistent.forEach(f -> keys.open("if (" + isDirty(f) + ")").add("keys.add(" + f.key.fullName + ");").close());
+        keys.add("return keys;");
+        type.block("public void clearDirty()").body.add(persistent.size() > 64 ? "Arrays.fill(dirtyFields, 0);" : "dirtyFields = 0;");
+        Code delta = type.block("public DataContainer toContainerDelta()").body;
+        delta.add("DataContainer container = super.toContainer();");
+        persistent.forEach(f -> delta.open("if (" + isDirty(f) + ")").add("container.set(" + query(f) + ", " + view(f, f.name) + ");")
+                .close());
+        delta.add("return container;");
+    }
+
+    //one word per 64 persistent fields, with the bit of every field set
+    private List<String> allDirty() {
+        List<String> words = new ArrayList<>();
+        for (int bits = persistent.size(); bits > 0 || words.isEmpty(); bits -= 64) {
+            words.add(bits >= 64 ? "-1L" : "0x" + Long.toHexString((1L << bits) - 1) + "L");
+        }
+        return words;
+    }
+
+    private String mark(Manipulator.ManipulatorField f) {
+        int index = persistent.indexOf(f);
+        return persistent.size() > 64 ? "dirtyFields[" + index / 64 + "] |= " + bit(index % 64) + ";" : "dirtyFields |= " + bit(index) + ";";
+    }
+
+    private String isDirty(Manipulator.ManipulatorField f) {
+        int index = persistent.indexOf(f);
+        return "(" + (persistent.size() > 64 ? "dirtyFields[" + index / 64 + "] & " + bit(index % 64) : "dirtyFields & " + bit(index))
+                + ") != 0";
+    }
+
+    private static String bit(int index) {
+        return index == 0 ? "1L" : "1L << " + index;
+    }
+
+    private JavaClass immutableClass() {
+        JavaClass type = new JavaClass("public static class Immutable extends AbstractImmutableData<Immutable, " + classname + ">");
+        type.annotations.add(generated);
+        if (manipulator.internImmutables) {
+            //weak, so canonical instances nothing refers to anymore can still be collected
+            type.field("private static final Interner<Immutable> interner = Interners.newWeakInterner();");
+        }
+        fields(type);
+        if (manipulator.cacheImmutableValues) {
+            manipulator.fields.forEach(f -> type.field("private Immutable" + f.valueName + " " + f.name + "Value;"));
+        }
+        registration(type, "registerGetters", false);
+        constructors(type, "Immutable");
+        Code register = type.override("protected void registerGetters()").body;
+        manipulator.fields.forEach(f -> {
+            register.add("registerFieldGetter(" + f.key.fullName + ", this::" + getter(f) + ");");
+            register.add("registerKeyValue(" + f.key.fullName + ", this::" + f.name + ");");
+        });
+        manipulator.fields.forEach(f -> {
+            getter(type, f, f.name);
+            String value = (f.optional ? "(ImmutableOptionalValue<" + f.boxedType + ">) " : "")
+                    + "Sponge.getRegistry().getValueFactory().create" + f.valueType.getMutableName()
+                    + "(" + f.key.fullName + ", " + view(f, f.name) + ").asImmutable()";
+            Code body = type.block("public Immutable" + f.valueName + " " + f.name + "()").body;
+            if (manipulator.cacheImmutableValues) {
+                //the fields never change, so racing threads can only create equal values
+                body.open("if (" + f.name + "Value == null)").add(f.name + "Value = " + value + ";").close();
+                body.add("return " + f.name + "Value;");
+            } else {
+                body.add("return " + value + ";");
+            }
+        });
+        primitiveAccessors(type, false);
+        type.override("public " + classname + " asMutable()").body.add("return new " + classname + "("
+                + (manipulator.concurrent ? "this" : arguments) + ");");
+        type.override("public int getContentVersion()").body.add("return " + manipulator.version + ";");
+        toContainer(type);
+        String hash = local("hash");
+        //computed on first use, from() and readFrom() still change the fields of a new instance before it is published
+        type.field("private int " + hash + ";");
+        equals(type, "Immutable", equality(), hash);
+        hashCode(type, equality(), hash);
+        if (codec != null) {
+            codec.immutable(type, classname);
+        }
+        return type;
+    }
+
+    //what the Immutable class compares, an interned instance is shared so it cannot ignore the transient fields
+    private List<Manipulator.ManipulatorField> equality() {
+        return manipulator.internImmutables ? manipulator.fields : persistent;
+    }
+
+    private void equals(JavaClass type, String name, List<Manipulator.ManipulatorField> fields, String hash) {
+        String o = local("o");
+        String that = local("that");
+        Code body = type.override("public boolean equals(Object " + o + ")").body;
+        body.open("if (this == " + o + ")").add("return true;").close();
+        body.open("if (" + o + " == null || getClass() != " + o + ".getClass())").add("return false;").close();
+        if (fields.isEmpty()) {
+            body.add("return true;");
+            return;
+        }
+        body.add(name + " " + that + " = (" + name + ") " + o + ";");
+        String self = "";
+        String other = that + ".";
+        if (manipulator.concurrent && !name.equals("Immutable")) {
+            //one snapshot of each side, the fields of the state cannot change but the state can
+            body.add("Immutable current = state;");
+            body.add("Immutable other = " + that + ".state;");
+            self = "current.";
+            other = "other.";
+        }
+        if (hash != null) {
+            body.open("if (" + hash + " != 0 && " + that + "." + hash + " != 0 && " + hash + " != " + that + "." + hash + ")")
+                    .add("return false;").close();
+        }
+        //primitives first, they are the cheapest to tell apart
+        List<Manipulator.ManipulatorField> ordered = fields.stream()
+                .sorted(Comparator.comparing(f -> !DataManipulatorGenerator.primitives.contains(f.type))).collect(Collectors.toList());
+        for (int i = 0; i < ordered.size(); i++) {
+            Manipulator.ManipulatorField f = ordered.get(i);
+            String a = self + f.name;
+            String b = other + f.name;
+            String equal;
+            switch (f.primitiveElement != null ? "array" : f.type) {
+                case "array": equal = "Arrays.equals(" + a + ", " + b + ")"; break;
+                case "D": equal = "Double.compare(" + a + ", " + b + ") == 0"; break;
+                case "F": equal = "Float.compare(" + a + ", " + b + ") == 0"; break;
+                default:
+                    equal = DataManipulatorGenerator.primitives.contains(f.type) ? a + " == " + b : "Objects.equals(" + a + ", " + b + ")";
+            }
+            if (i == 0) {
+                body.add("return " + equal);
+            } else {
+                body.continued("&& " + equal);
+            }
+        }
+        body.append(";");
+    }
+
+    private void hashCode(JavaClass type, List<Manipulator.ManipulatorField> fields, String hash) {
+        Code body = type.override("public int hashCode()").body;
+        String result = hash == null ? local("hash") : hash;
+        String self = "";
+        if (manipulator.concurrent && hash == null && !fields.isEmpty()) {
+            body.add("Immutable current = state;");
+            self = "current.";
+        }
+        Code compute = body;
+        if (hash != null) {
+            body.add("int " + result + " = this." + hash + ";");
+            compute = body.open("if (" + result + " == 0)").add(result + " = 1;");
+        } else {
+            body.add("int " + result + " = 1;");
+        }
+        for (Manipulator.ManipulatorField f : fields) {
+            String hasher = f.primitiveElement != null ? "Arrays" : DataManipulatorGenerator.primitives.contains(f.type) ? f.boxedType : "Objects";
+            compute.add(result + " = 31 * " + result + " + " + hasher + ".hashCode(" + self + f.name + ");");
+        }
+        if (hash != null) {
+            compute.add("this." + hash + " = " + result + ";").close();
+        }
+        body.add("return " + result + ";");
+    }
+
+    private JavaClass builderClass() {
+        JavaClass type = new JavaClass("public static class Builder extends AbstractDataBuilder<" + classname
+                + "> implements DataManipulatorBuilder<" + classname + ", Immutable>");
+        type.annotations.add(generated);
+        type.block("public Builder()").body.add("super(" + classname + ".class, " + manipulator.version + ");");
+        type.override("public " + classname + " create()").body.add("return new " + classname + "();");
+        type.override("public Optional<" + classname + "> createFrom(DataHolder dataHolder)").body.add("return create().fill(dataHolder);");
+        instrument(type.override("protected Optional<" + classname + "> buildContent(DataView container) throws InvalidDataException")
+                .body.add("return create().from(container);"), "BUILD");
+        //the target is only valid until the next container is read into it
+        type.block("public int buildEach(Iterable<? extends DataView> containers, " + classname + " target, Consumer<? super " + classname
+                + "> action)").body.add("int count = 0;").open("for (DataView container : containers)")
+                .open("if (target.reset().from(container).isPresent())").add("action.accept(target);").add("count++;").close().close()
+                .add("return count;");
+        //each instance is read into again pool.length containers later, so the action may keep the last pool.length - 1
+        type.block("public int buildEach(Iterable<? extends DataView> containers, " + classname + "[] pool, Consumer<? super " + classname
+                + "> action)").body.add("int count = 0;").open("for (DataView container : containers)")
+                .add(classname + " target = pool[count % pool.length];")
+                .open("if (target.reset().from(container).isPresent())").add("action.accept(target);").add("count++;").close().close()
+                .add("return count;");
+        return type;
+    }
+
+    //brings data of any older version up to the current one, following every migration after it in order
+    private JavaClass contentUpdaterClass() {
+        JavaClass type = new JavaClass("public static class ContentUpdater implements DataContentUpdater");
+        type.annotations.add(generated);
+        type.field("private final int version;");
+        type.block("public ContentUpdater(int version)").body.add("this.version = version;");
+        type.override("public int getInputVersion()").body.add("return version;");
+        type.override("public int getOutputVersion()").body.add("return " + manipulator.version + ";");
+        Code body = type.override("public DataView update(DataView content)").body;
+        List<Manipulator.Migration> migrations = manipulator.migrations.stream().sorted(Comparator.comparingInt(m -> m.from))
+                .collect(Collectors.toList());
+        if (migrations.stream().anyMatch(m -> !m.renames.isEmpty() || !m.typeChanges.isEmpty())) {
+            body.add("Object value;");
+        }
+        migrations.forEach(m -> {
+            body.open("if (version < " + (m.from + 1) + ")");
+            m.renames.forEach((from, to) -> body.add("value = content.get(" + query(from) + ").orElse(null);")
+                    .open("if (value != null)").add("content.remove(" + query(from) + ").set(" + query(to) + ", value);").close());
+            m.typeChanges.forEach((query, conversion) -> body.add("value = content.get(" + query(query) + ").orElse(null);")
+                    .open("if (value != null)").add("content.set(" + query(query) + ", " + conversion + ");").close());
+            m.removals.forEach(query -> body.add("content.remove(" + query(query) + ");"));
+            body.close();
+        });
+        body.add("return content.set(Queries.CONTENT_VERSION, " + manipulator.version + ");");
+        return type;
+    }
+
+    private static String query(String query) {
+        return "DataQuery.of(" + (query.contains(".") ? "'.', " : "") + "\"" + query + "\")";
+    }
+
+    //what the types in the keys class refer to
+    static List<String> keyImports(Manipulator manipulator) {
+        List<String> imports = Lists.newArrayList("org.spongepowered.api.data.DataQuery",
+                "org.spongepowered.api.data.key.Key",
+                "org.spongepowered.api.data.key.KeyFactory",
+                "javax.annotation.Generated");
+        if (manipulator.fields.stream().anyMatch(f -> f.optional)) {
+            imports.add("java.util.Optional");
+        }
+        imports.addAll(valueImports(manipulator));
+        manipulator.fields.forEach(f -> imports.add(f.valueType.getMutableType()));
+        imports.addAll(manipulator.imports);
+        return imports;
+    }
+
+    JavaFile keysFile() {
+        List<String> imports = keyImports(manipulator);
+        if (manipulator.fields.stream().anyMatch(f -> !manipulator.tokens.containsKey(f.key.itemType)
+                || !manipulator.tokens.containsKey(f.key.valueType))) {
+            imports.add("com.google.common.reflect.TypeToken");
+        }
+        if (!manipulator.tokens.isEmpty() && manipulator.tokenHolder.contains(".")
+                && !manipulator.tokenHolder.substring(0, manipulator.tokenHolder.lastIndexOf('.')).equals(manipulator.packagename)) {
+            imports.add(manipulator.tokenHolder);
+        }
+        //with shared tokens the collection types may only appear in the holder
+        Set<String> used = keyTypes().stream().flatMap(t -> Arrays.stream(t.split("[^\\w.]+"))).collect(Collectors.toSet());
+        imports.removeIf(i -> i.startsWith("java.util.") && !used.contains(i) && !used.contains(i.substring(i.lastIndexOf('.') + 1)));
+
+        String keyclass = manipulator.keyClass;
+        JavaClass type = new JavaClass("public class " + keyclass);
+        type.annotations.add(generated);
+        type.block("private " + keyclass + "()");
+        if (manipulator.lazyKeys) {
+            lazyKeys(type);
+            return new JavaFile(manipulator.packagename, type).imports(imports);
+        }
+        manipulator.fields.forEach(f -> type.field("public final static Key<" + f.valueName + "> " + f.key.name + ";"));
+        Code body = type.block("static").body;
+        manipulator.fields.stream().map(f -> new AbstractMap.SimpleImmutableEntry<>(f.key.itemType, f.key.valueType)).distinct().forEach(f -> {
+            if (!manipulator.tokens.containsKey(f.getKey())) {
+                body.add("TypeToken<" + f.getKey() + "> " + DataManipulatorGenerator.strip(f.getKey()) + "Token = "
+                        + (f.getKey().contains("<") ? "new TypeToken<" + f.getKey() + ">(){}" : "TypeToken.of(" + f.getKey() + ".class)") + ";");
+            }
+            if (!manipulator.tokens.containsKey(f.getValue())) {
+                body.add("TypeToken<" + f.getValue() + "> " + DataManipulatorGenerator.strip(f.getValue()) + "Token = new TypeToken<"
+                        + f.getValue() + ">(){};");
+            }
+        });
+        manipulator.fields.forEach(f -> body.add(f.key.name + " = " + makeKey(f, token(f.key.itemType), token(f.key.valueType)) + ";"));
+        return new JavaFile(manipulator.packagename, type).imports(imports);
+    }
+
+    //the types the keys class spells out, the ones with a shared token are only written in the holder
+    private List<String> keyTypes() {
+        List<String> types = new ArrayList<>();
+        manipulator.fields.forEach(f -> {
+            types.add(f.valueName);
+            if (!manipulator.tokens.containsKey(f.key.itemType)) {
+                types.add(f.key.itemType);
+            }
+            if (!manipulator.tokens.containsKey(f.key.valueType)) {
+                types.add(f.key.valueType);
+            }
+        });
+        return types;
+    }
+
+    //one holder class per key, so the jvm creates each key on its first use
+    private void lazyKeys(JavaClass type) {
+        manipulator.fields.forEach(f -> type.block("public static Key<" + f.valueName + "> " + f.key.name + "()").body
+                .add("return " + f.uppercase + "Key.KEY;"));
+        manipulator.fields.forEach(f -> type.nested("private static class " + f.uppercase + "Key")
+                .field("static final Key<" + f.valueName + "> KEY = " + makeKey(f, lazyToken(f.key.itemType, true),
+                        lazyToken(f.key.valueType, false)) + ";"));
+    }
+
+    private String lazyToken(String type, boolean item) {
+        if (manipulator.tokens.containsKey(type)) {
+            return manipulator.tokens.get(type);
+        }
+        return item && !type.contains("<") ? "TypeToken.of(" + type + ".class)" : "new TypeToken<" + type + ">(){}";
+    }
+
+    private static String makeKey(Manipulator.ManipulatorField f, String itemToken, String valueToken) {
+        return "KeyFactory.make" + f.valueType.getKeyType() + "Key(" + itemToken + ", " + valueToken + ", " + query(f.key.dataQuery)
+                + ", \"" + f.key.id + "\", \"" + f.key.displayName + "\")";
+    }
+
+    private String token(String type) {
+        return manipulator.tokens.getOrDefault(type, DataManipulatorGenerator.strip(type) + "Token");
+    }
+}
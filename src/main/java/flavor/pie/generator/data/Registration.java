@@ -0,0 +1,68 @@
+package flavor.pie.generator.data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+//registers every manipulator of a batch in one call, instead of one hand written line per class
+class Registration {
+    final String packagename;
+    final String classname;
+    private final List<Manipulator> manipulators;
+
+    private Registration(String name, List<Manipulator> manipulators) {
+        int split = name.lastIndexOf('.');
+        this.packagename = split < 0 ? null : name.substring(0, split);
+        this.classname = name.substring(split + 1);
+        this.manipulators = manipulators;
+    }
+
+    static Registration collect(String name, List<Manipulator> manipulators) {
+        Registration registration = new Registration(name, new ArrayList<>());
+        for (Manipulator manipulator : manipulators) {
+            //a class in the default package cannot be imported
+            if (manipulator.packagename == null && registration.packagename != null) {
+                System.err.printf("%s is in the default package and cannot be registered by %s%n", manipulator.classname, name);
+            } else {
+                registration.manipulators.add(manipulator);
+            }
+        }
+        //sorted so the class does not depend on the order specs were loaded in
+        registration.manipulators.sort(Comparator.comparing(Registration::qualified));
+        return registration;
+    }
+
+    private static String qualified(Manipulator manipulator) {
+        return manipulator.packagename == null ? manipulator.classname : manipulator.packagename + "." + manipulator.classname;
+    }
+
+    boolean isEmpty() {
+        return manipulators.isEmpty();
+    }
+
+    JavaFile file(Instant date) {
+        Map<String, Long> simple = manipulators.stream().collect(Collectors.groupingBy(m -> m.classname, HashMap::new, Collectors.counting()));
+        List<String> imports = new ArrayList<>();
+        imports.add("javax.annotation.Generated");
+        imports.add("org.spongepowered.api.data.DataManager");
+        manipulators.stream().filter(m -> simple.get(m.classname) == 1 && m.packagename != null && !m.packagename.equals(packagename))
+                .forEach(m -> imports.add(qualified(m)));
+
+        JavaClass type = new JavaClass("public final class " + classname);
+        type.annotations.add("@Generated(value = \"" + DataManipulatorGenerator.class.getName() + "\", date = \"" + date + "\")");
+        type.block("private " + classname + "()");
+        Code body = type.block("public static void register(DataManager manager)").body;
+        manipulators.forEach(m -> {
+            String name = simple.get(m.classname) == 1 ? m.classname : qualified(m);
+            body.add("manager.register(" + name + ".class, " + name + ".Immutable.class, new " + name + ".Builder());");
+            if (m.version > 1) {
+                body.add(name + ".registerContentUpdaters(manager);");
+            }
+        });
+        return new JavaFile(packagename, type).imports(imports);
+    }
+}
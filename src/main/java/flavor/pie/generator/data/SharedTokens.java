@@ -0,0 +1,135 @@
+package flavor.pie.generator.data;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//one TypeToken per distinct type of a batch, instead of an anonymous subclass per type in every keys class
+class SharedTokens {
+    private static final Pattern identifier = Pattern.compile("[\\w.]+");
+    private static final Set<String> keywords = ImmutableSet.of("extends", "super");
+    private static final Set<String> javaLang = ImmutableSet.of("Boolean", "Byte", "Character", "Double", "Float", "Integer", "Long",
+            "Number", "Object", "Short", "String");
+
+    final String packagename;
+    final String classname;
+    //field name to the fully qualified type, sorted so the holder does not depend on the order specs were loaded in
+    private final Map<String, String> types = new TreeMap<>();
+
+    private SharedTokens(String name) {
+        int split = name.lastIndexOf('.');
+        this.packagename = split < 0 ? null : name.substring(0, split);
+        this.classname = name.substring(split + 1);
+    }
+
+    static SharedTokens collect(String name, List<Manipulator> manipulators) {
+        SharedTokens tokens = new SharedTokens(name);
+        Map<Manipulator, Map<String, String>> qualified = new LinkedHashMap<>();
+        Map<String, Set<String>> candidates = new HashMap<>();
+        for (Manipulator manipulator : manipulators) {
+            List<String> imports = ManipulatorModel.keyImports(manipulator);
+            Map<String, String> types = new LinkedHashMap<>();
+            manipulator.fields.forEach(f -> {
+                types.put(f.key.itemType, qualify(f.key.itemType, imports, manipulator.packagename));
+                types.put(f.key.valueType, qualify(f.key.valueType, imports, manipulator.packagename));
+            });
+            types.forEach((type, q) -> candidates.computeIfAbsent(field(type), k -> new HashSet<>()).add(q));
+            qualified.put(manipulator, types);
+        }
+        qualified.forEach((manipulator, types) -> {
+            manipulator.tokenHolder = name;
+            types.forEach((type, q) -> {
+                //two types with the same simple name keep their own tokens, as do types the holder cannot see
+                if (candidates.get(field(type)).size() == 1 && (tokens.packagename == null || !hasDefaultPackage(q))) {
+                    manipulator.tokens.put(type, tokens.classname + "." + field(type));
+                    tokens.types.put(field(type), q);
+                }
+            });
+        });
+        return tokens;
+    }
+
+    private static String field(String type) {
+        return DataManipulatorGenerator.caps(DataManipulatorGenerator.strip(type));
+    }
+
+    private static String qualify(String type, List<String> imports, String packagename) {
+        Matcher matcher = identifier.matcher(type);
+        StringBuffer out = new StringBuffer();
+        while (matcher.find()) {
+            String name = matcher.group();
+            String replacement = name;
+            if (!name.contains(".") && !keywords.contains(name)) {
+                replacement = imports.stream().filter(i -> i.endsWith("." + name)).findFirst()
+                        .orElse(javaLang.contains(name) ? "java.lang." + name : packagename == null ? name : packagename + "." + name);
+            }
+            matcher.appendReplacement(out, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    private static boolean hasDefaultPackage(String type) {
+        Matcher matcher = identifier.matcher(type);
+        while (matcher.find()) {
+            if (!matcher.group().contains(".") && !keywords.contains(matcher.group())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return types.isEmpty();
+    }
+
+    JavaFile file(Instant date) {
+        //simple names are imported unless two types share them
+        Map<String, Set<String>> simple = new HashMap<>();
+        types.values().forEach(type -> {
+            Matcher matcher = identifier.matcher(type);
+            while (matcher.find()) {
+                String name = matcher.group();
+                simple.computeIfAbsent(name.substring(name.lastIndexOf('.') + 1), k -> new TreeSet<>()).add(name);
+            }
+        });
+        List<String> imports = new ArrayList<>();
+        imports.add("com.google.common.reflect.TypeToken");
+        imports.add("javax.annotation.Generated");
+        simple.forEach((name, qualified) -> {
+            String type = qualified.iterator().next();
+            if (qualified.size() == 1 && type.contains(".") && !type.equals("java.lang." + name)) {
+                imports.add(type);
+            }
+        });
+
+        JavaClass type = new JavaClass("public final class " + classname);
+        type.annotations.add("@Generated(value = \"" + DataManipulatorGenerator.class.getName() + "\", date = \"" + date + "\")");
+        types.forEach((field, qualified) -> {
+            Matcher matcher = identifier.matcher(qualified);
+            StringBuffer out = new StringBuffer();
+            while (matcher.find()) {
+                String name = matcher.group();
+                String simpleName = name.substring(name.lastIndexOf('.') + 1);
+                matcher.appendReplacement(out, Matcher.quoteReplacement(simple.get(simpleName).size() == 1 ? simpleName : name));
+            }
+            matcher.appendTail(out);
+            String written = out.toString();
+            type.field("public static final TypeToken<" + written + "> " + field + " = " + (written.contains("<")
+                    ? "new TypeToken<" + written + ">(){}" : "TypeToken.of(" + written + ".class)") + ";");
+        });
+        type.block("private " + classname + "()");
+        return new JavaFile(packagename, type).imports(imports);
+    }
+}
@@ -0,0 +1,109 @@
+package flavor.pie.generator.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SpecWatcher {
+    private final GeneratorOptions options;
+    private final BatchGenerator generator;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    public SpecWatcher(GeneratorOptions options) {
+        this.options = options;
+        this.generator = new BatchGenerator(options);
+    }
+
+    public void run() throws IOException, InterruptedException {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            for (String pattern : options.batch) {
+                register(service, BatchGenerator.base(pattern).toAbsolutePath().normalize(), true);
+            }
+            for (Path parent : options.files.stream().map(f -> f.getAbsoluteFile().toPath().normalize().getParent())
+                    .collect(Collectors.toSet())) {
+                register(service, parent, false);
+            }
+            regenerate(true, new HashSet<>());
+            System.out.println("Watching for changes to specs, press Ctrl+C to stop");
+            while (true) {
+                WatchKey key = service.take();
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = false;
+                //collect events until the burst is over, editors often write a file several times per save
+                do {
+                    overflow |= drain(service, key, changed);
+                    key = service.poll(options.debounce, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                //the shared token holder and the registration are made from every spec, not just the changed ones
+                regenerate(overflow || options.sharedTokens != null || options.registration != null, changed);
+            }
+        }
+    }
+
+    //a failed run is reported and the watch goes on, the next save may well fix it
+    private void regenerate(boolean all, Set<Path> changed) throws InterruptedException {
+        try {
+            List<File> specs = specs().stream()
+                    .filter(f -> all || changed.contains(f.toPath().toAbsolutePath().normalize()))
+                    .collect(Collectors.toList());
+            if (!specs.isEmpty()) {
+                generator.run(specs);
+            }
+        } catch (IOException | RuntimeException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private boolean drain(WatchService service, WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = directories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                register(service, path, true);
+            }
+            changed.add(path);
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return overflow;
+    }
+
+    private void register(WatchService service, Path root, boolean recursive) throws IOException {
+        try (Stream<Path> stream = Files.walk(root, recursive ? Integer.MAX_VALUE : 0)) {
+            for (Path directory : (Iterable<Path>) stream.filter(Files::isDirectory)::iterator) {
+                WatchKey key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, directory);
+            }
+        }
+    }
+
+    private List<File> specs() throws IOException {
+        List<File> specs = new ArrayList<>(options.files);
+        for (String pattern : options.batch) {
+            specs.addAll(BatchGenerator.collect(pattern));
+        }
+        return specs;
+    }
+}
@@ -0,0 +1,129 @@
+package flavor.pie.generator.data;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+//runs the generator inside javac, writing through the Filer instead of into a directory
+@SupportedAnnotationTypes("flavor.pie.generator.data.GenerateData")
+@SupportedOptions({DataManipulatorProcessor.specDirOption, DataManipulatorProcessor.timestampOption})
+public class DataManipulatorProcessor extends AbstractProcessor {
+    static final String specDirOption = "dataManipulator.specDir";
+    static final String timestampOption = "dataManipulator.timestamp";
+
+    private final JavaEmitter emitter = new JavaEmitter(System.getProperty("line.separator"));
+    private GeneratorOptions options;
+    private File specDir;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        String timestamp = processingEnv.getOptions().get(timestampOption);
+        try {
+            options = timestamp == null ? new GeneratorOptions() : GeneratorOptions.parse(new String[]{"--timestamp", timestamp});
+        } catch (IllegalArgumentException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "-A" + timestampOption + " requires now, mtime or an ISO-8601 instant");
+            options = new GeneratorOptions();
+        }
+        String dir = processingEnv.getOptions().get(specDirOption);
+        specDir = dir == null ? null : new File(dir);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Instant now = Instant.now();
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateData.class)) {
+            try {
+                generate(element, element.getAnnotation(GenerateData.class), now);
+            } catch (IOException ex) {
+                error(element, ex.toString());
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element element, GenerateData annotation, Instant now) throws IOException {
+        List<File> files = new ArrayList<>();
+        List<Manipulator> manipulators = new ArrayList<>();
+        for (String path : annotation.value()) {
+            File file = find(path);
+            if (file == null) {
+                error(element, path + " was not found" + (specDir == null ? ", set -A" + specDirOption + " to the directory of the specs" : " in " + specDir));
+                continue;
+            }
+            //resolve reports what is wrong with the spec itself
+            Manipulator manipulator = DataManipulatorGenerator.load(file);
+            if (manipulator == null) {
+                error(element, path + " could not be generated");
+                continue;
+            }
+            files.add(file);
+            manipulators.add(manipulator);
+        }
+        Instant date = options.date(files, now);
+        //every spec has to be loaded before any keys class can refer to the holder
+        if (!annotation.sharedTokens().isEmpty()) {
+            SharedTokens tokens = SharedTokens.collect(annotation.sharedTokens(), manipulators);
+            if (!tokens.isEmpty()) {
+                write(element, tokens.packagename, tokens.classname, tokens.file(date));
+            }
+        }
+        if (!annotation.registration().isEmpty()) {
+            Registration registration = Registration.collect(annotation.registration(), manipulators);
+            if (!registration.isEmpty()) {
+                write(element, registration.packagename, registration.classname, registration.file(date));
+            }
+        }
+        for (int i = 0; i < manipulators.size(); i++) {
+            Manipulator manipulator = manipulators.get(i);
+            ManipulatorModel model = new ManipulatorModel(manipulator, options.date(files.get(i), now));
+            write(element, manipulator.packagename, manipulator.classname, model.manipulatorFile());
+            write(element, manipulator.packagename, manipulator.keyClass, model.keysFile());
+        }
+    }
+
+    private File find(String path) {
+        File file = new File(path);
+        //not through the Filer, gradle does not allow incremental processors to read resources with it
+        if (!file.isAbsolute()) {
+            if (specDir == null) {
+                return null;
+            }
+            file = new File(specDir, path);
+        }
+        return file.isFile() ? file : null;
+    }
+
+    private void write(Element element, String packagename, String classname, JavaFile file) throws IOException {
+        String name = packagename == null ? classname : packagename + "." + classname;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, element).openWriter()) {
+            writer.write(emitter.emit(file));
+        } catch (FilerException ex) {
+            //the Filer refuses a second file of the same name, two annotations listed the same spec
+            error(element, name + " is generated more than once");
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,19 @@
+package flavor.pie.generator.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//generates the manipulators of the specs at compile time, see DataManipulatorProcessor
+//class retention, gradle only compiles incrementally for annotations it can find in class files
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE, ElementType.PACKAGE})
+public @interface GenerateData {
+    //paths of the .conf specs, relative to the dataManipulator.specDir option
+    String[] value();
+
+    String sharedTokens() default "";
+
+    String registration() default "";
+}
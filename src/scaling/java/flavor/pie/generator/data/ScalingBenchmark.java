@@ -0,0 +1,158 @@
+package flavor.pie.generator.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+//times parsing, resolution, emission and writing separately over synthesized specs of growing size
+public class ScalingBenchmark {
+    private static final String[] FIELDS = {
+            "{ type = I, name = %s }",
+            "{ type = D, name = %s }",
+            "{ type = java.lang.String, name = %s }",
+            "{ type = Z, name = %s }",
+            "{ type = java.util.List, full-type = \"List<Integer>\", name = %s }",
+            "{ type = java.util.Set, full-type = \"Set<String>\", name = %s }",
+            "{ type = java.util.Map, full-type = \"Map<String, Integer>\", name = %s }",
+            "{ type = java.util.UUID, name = %s, optional = true }",
+            "{ type = org.spongepowered.api.item.ItemType, name = %s }",
+            "{ type = L, name = %s, transient = true }"
+    };
+    private static final String[] PHASES = {"parse", "resolve", "emit", "write"};
+
+    private int rounds = 5;
+    private int warmup = 2;
+    private int[] fields = {1, 10, 100, 1000};
+    private int[] files = {1, 10, 100, 1000, 5000};
+
+    public static void main(String[] args) throws IOException {
+        ScalingBenchmark benchmark = new ScalingBenchmark();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rounds": benchmark.rounds = Integer.parseInt(args[++i]); break;
+                case "--warmup": benchmark.warmup = Integer.parseInt(args[++i]); break;
+                case "--fields": benchmark.fields = sizes(args[++i]); break;
+                case "--files": benchmark.files = sizes(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+        benchmark.run();
+    }
+
+    private static int[] sizes(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private void run() throws IOException {
+        Path root = Files.createTempDirectory("manipulator-scaling");
+        try {
+            System.out.printf("Median of %d rounds after %d warmup rounds, in ms%n", rounds, warmup);
+            System.out.printf("%7s %7s %10s %10s %10s %10s %10s %12s%n", "fields", "files", "parse", "resolve", "emit", "write",
+                    "total", "us/field");
+            //field count scaling in a single spec, then spec count scaling at a fixed size
+            for (int count : fields) {
+                measure(root, count, 1);
+            }
+            for (int count : files) {
+                measure(root, 10, count);
+            }
+        } finally {
+            delete(root);
+        }
+    }
+
+    private void measure(Path root, int fieldCount, int fileCount) throws IOException {
+        Path directory = Files.createDirectories(root.resolve(fieldCount + "x" + fileCount));
+        List<File> specs = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            specs.add(spec(directory, "Scaling" + i + "Data", fieldCount));
+        }
+        GeneratorOptions options = new GeneratorOptions();
+        options.output = directory.resolve("out").toFile();
+        options.packageDirectories = true;
+        long[][] times = new long[PHASES.length][rounds];
+        for (int round = 0; round < warmup + rounds; round++) {
+            long[] phases = round(specs, options);
+            if (round >= warmup) {
+                for (int phase = 0; phase < phases.length; phase++) {
+                    times[phase][round - warmup] = phases[phase];
+                }
+            }
+        }
+        long[] medians = new long[PHASES.length];
+        long total = 0;
+        for (int phase = 0; phase < PHASES.length; phase++) {
+            Arrays.sort(times[phase]);
+            medians[phase] = times[phase][rounds / 2];
+            total += medians[phase];
+        }
+        System.out.printf("%7d %7d %10.2f %10.2f %10.2f %10.2f %10.2f %12.2f%n", fieldCount, fileCount, medians[0] / 1e6,
+                medians[1] / 1e6, medians[2] / 1e6, medians[3] / 1e6, total / 1e6, total / 1e3 / fieldCount / fileCount);
+        delete(directory);
+    }
+
+    private static long[] round(List<File> specs, GeneratorOptions options) throws IOException {
+        long[] phases = new long[PHASES.length];
+        long start = System.nanoTime();
+        List<Manipulator> manipulators = new ArrayList<>(specs.size());
+        for (File spec : specs) {
+            manipulators.add(DataManipulatorGenerator.parse(spec));
+        }
+        phases[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < specs.size(); i++) {
+            DataManipulatorGenerator.resolve(manipulators.get(i), specs.get(i).getName());
+        }
+        phases[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Map<File, String>> sources = new ArrayList<>(manipulators.size());
+        for (Manipulator manipulator : manipulators) {
+            sources.add(DataManipulatorGenerator.render(manipulator, Instant.EPOCH, options));
+        }
+        phases[2] = System.nanoTime() - start;
+
+        //identical files are skipped, so every round writes into an empty directory
+        delete(options.output.toPath());
+        start = System.nanoTime();
+        for (Map<File, String> source : sources) {
+            if (!DataManipulatorGenerator.write(source)) {
+                throw new IOException("Could not write " + source.keySet());
+            }
+        }
+        phases[3] = System.nanoTime() - start;
+        return phases;
+    }
+
+    private static File spec(Path directory, String name, int fieldCount) throws IOException {
+        StringBuilder spec = new StringBuilder("package = \"scaling\"\nplugin-id = \"scaling\"\nfields = [\n");
+        for (int i = 0; i < fieldCount; i++) {
+            spec.append("  ").append(String.format(FIELDS[i % FIELDS.length], "field" + i)).append('\n');
+        }
+        spec.append("]\n");
+        Path file = directory.resolve(name + ".conf");
+        Files.write(file, spec.toString().getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}